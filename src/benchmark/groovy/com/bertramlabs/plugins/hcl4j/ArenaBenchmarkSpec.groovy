@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol
+import groovy.transform.CompileStatic
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.management.BufferPoolMXBean
+import java.lang.management.GarbageCollectorMXBean
+import java.lang.management.ManagementFactory
+
+/**
+ * Compares the symbol tree of {@link HCLParser#parseConfiguration} with {@link HCLArena} on heap and off-heap for
+ * large synthetic configurations ({@code hcl4j.arena.chars}, 16 MB by default): garbage collections and their time
+ * while parsing, peak and retained heap, the pause of a full collection while the result is alive, and the time and
+ * allocation of one complete traversal. Rows are appended to {@code arena-trend.csv} in the benchmark report directory.
+ */
+class ArenaBenchmarkSpec extends Specification {
+	static final long SIZE = Long.getLong('hcl4j.arena.chars', 16 * 1024 * 1024)
+
+	enum Backend {
+		TREE, ARENA, DIRECT_ARENA
+	}
+
+	@Unroll
+	void "arena reduces retained heap and garbage collection for #shape configurations"() {
+		given:
+		warmUp(shape)
+		Map<Backend, Map<String, Object>> rows = [:]
+
+		when:
+		for(Backend backend : Backend.values()) {
+			Map<String, Object> row = measure(shape, backend)
+			rows[backend] = row
+			BenchmarkReport.record('arena', row)
+		}
+
+		then:
+		rows[Backend.ARENA].nodes == rows[Backend.TREE].nodes
+		rows[Backend.DIRECT_ARENA].nodes == rows[Backend.TREE].nodes
+		rows[Backend.ARENA].retainedHeapBytes < rows[Backend.TREE].retainedHeapBytes
+		rows[Backend.DIRECT_ARENA].retainedHeapBytes < rows[Backend.ARENA].retainedHeapBytes
+		rows[Backend.ARENA].walkAllocatedBytes < 1024
+		rows[Backend.DIRECT_ARENA].walkAllocatedBytes < 1024
+
+		where:
+		shape << [SyntheticHCL.Shape.WIDE, SyntheticHCL.Shape.DEEP, SyntheticHCL.Shape.BIG_ARRAY]
+	}
+
+	private static Map<String, Object> measure(SyntheticHCL.Shape shape, Backend backend) {
+		long baseline = BenchmarkReport.usedHeapAfterGc()
+		long directBaseline = directMemory()
+		long[] gcBefore = gcTotals()
+		long start = System.nanoTime()
+		Object result = parse(shape, SIZE, backend)
+		long parseNanos = System.nanoTime() - start
+		long[] gcAfter = gcTotals()
+
+		long retained = BenchmarkReport.usedHeapAfterGc() - baseline
+		long direct = Math.max(0, directMemory() - directBaseline)
+		long fullGcStart = System.nanoTime()
+		System.gc()
+		long fullGcNanos = System.nanoTime() - fullGcStart
+
+		int nodes = 0
+		long walkNanos = BenchmarkReport.bestOf(3) { nodes = walk(result) }
+		long walkAllocated = BenchmarkReport.allocatedBytes { walk(result) }
+		result = null
+
+		long peak
+		PeakHeapMonitor monitor = new PeakHeapMonitor()
+		try {
+			peak = monitor.measure { parse(shape, SIZE, backend) }
+		} finally {
+			monitor.close()
+		}
+
+		return [shape: shape, chars: SIZE, backend: backend, nodes: nodes, parseMillis: parseNanos / 1_000_000d,
+			parseGcCount: gcAfter[1] - gcBefore[1], parseGcMillis: gcAfter[0] - gcBefore[0], peakHeapBytes: peak,
+			retainedHeapBytes: retained, directBytes: direct, fullGcMillis: fullGcNanos / 1_000_000d,
+			walkMillis: walkNanos / 1_000_000d, walkAllocatedBytes: walkAllocated] as Map<String, Object>
+	}
+
+	private static Object parse(SyntheticHCL.Shape shape, long size, Backend backend) {
+		Reader reader = new SyntheticHCL(shape, size)
+		switch(backend) {
+			case Backend.TREE:
+				return new HCLParser().parseConfiguration(reader)
+			case Backend.ARENA:
+				return new HCLParser().parseArena(reader, false)
+			default:
+				return new HCLParser().parseArena(reader, true)
+		}
+	}
+
+	private static void warmUp(SyntheticHCL.Shape shape) {
+		for(int i = 0; i < 3; i++) {
+			for(Backend backend : Backend.values()) {
+				walk(parse(shape, 256 * 1024, backend))
+			}
+		}
+	}
+
+	@CompileStatic
+	private static int walk(Object result) {
+		if(result instanceof HCLArena) {
+			return walkArena(((HCLArena) result).cursor())
+		}
+		HCLConfiguration configuration = (HCLConfiguration) result
+		int count = 0
+		for(Symbol symbol : configuration.attributes) {
+			count += walkTree(symbol)
+		}
+		for(Symbol symbol : configuration.blocks) {
+			count += walkTree(symbol)
+		}
+		return count
+	}
+
+	@CompileStatic
+	private static int walkTree(Symbol symbol) {
+		int count = 1
+		List<Symbol> children = symbol.children
+		for(int i = 0; i < children.size(); i++) {
+			count += walkTree(children.get(i))
+		}
+		return count
+	}
+
+	/**
+	 * Preorder traversal through a single cursor, without recursion.
+	 */
+	@CompileStatic
+	private static int walkArena(HCLArena.Cursor cursor) {
+		int count = 0
+		if(!cursor.firstRoot()) {
+			return count
+		}
+		while(true) {
+			count++
+			if(cursor.firstChild()) {
+				continue
+			}
+			while(!cursor.nextSibling()) {
+				if(!cursor.parent()) {
+					return count
+				}
+			}
+		}
+	}
+
+	private static long directMemory() {
+		BufferPoolMXBean pool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean).find { it.name == 'direct' }
+		return pool == null ? 0 : pool.memoryUsed
+	}
+
+	private static long[] gcTotals() {
+		long time = 0
+		long count = 0
+		for(GarbageCollectorMXBean collector : ManagementFactory.garbageCollectorMXBeans) {
+			time += Math.max(0, collector.collectionTime)
+			count += Math.max(0, collector.collectionCount)
+		}
+		return [time, count] as long[]
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import java.lang.management.ManagementFactory
+import java.text.SimpleDateFormat
+
+/**
+ * Small helper shared by the benchmark specs. Every measurement is printed and appended as a row to a CSV trend file
+ * in the report directory (system property {@code hcl4j.benchmark.reportDir}, by default {@code build/reports/benchmark}),
+ * so results of consecutive runs can be compared.
+ */
+class BenchmarkReport {
+
+	static File getReportDir() {
+		File dir = new File(System.getProperty('hcl4j.benchmark.reportDir', 'build/reports/benchmark'))
+		dir.mkdirs()
+		return dir
+	}
+
+	static synchronized void record(String suite, Map<String, Object> row) {
+		Map<String, Object> values = [timestamp: new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date()), java: System.getProperty('java.version')] + row
+		File trend = new File(reportDir, "${suite}-trend.csv")
+		if(!trend.exists()) {
+			trend << values.keySet().join(',') << '\n'
+		}
+		trend << values.values().join(',') << '\n'
+		println "[${suite}] ${row}"
+	}
+
+	/**
+	 * Runs the closure {@code runs} times and returns the fastest wall clock time in nanoseconds.
+	 */
+	static long bestOf(int runs, Closure closure) {
+		long best = Long.MAX_VALUE
+		for(int i = 0; i < runs; i++) {
+			long start = System.nanoTime()
+			closure.call()
+			best = Math.min(best, System.nanoTime() - start)
+		}
+		return best
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread while running the closure, or -1 if the JVM
+	 * cannot report it.
+	 */
+	static long allocatedBytes(Closure closure) {
+		def threads = ManagementFactory.getThreadMXBean()
+		if(!(threads instanceof com.sun.management.ThreadMXBean)) {
+			closure.call()
+			return -1
+		}
+		long threadId = Thread.currentThread().id
+		long before = threads.getThreadAllocatedBytes(threadId)
+		closure.call()
+		return threads.getThreadAllocatedBytes(threadId) - before
+	}
+
+	/**
+	 * Runs full collections and returns the heap in use afterwards, for comparing what results retain.
+	 */
+	static long usedHeapAfterGc() {
+		System.gc()
+		System.gc()
+		return ManagementFactory.memoryMXBean.heapMemoryUsage.used
+	}
+
+	static double megabytesPerSecond(long chars, long nanos) {
+		return (chars / (1024d * 1024d)) / (nanos / 1_000_000_000d)
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Compares the default {@link HCLParser#parse} results with compact results ({@link HCLParser#setCompactResults}) on
+ * map heavy synthetic configurations of {@code hcl4j.compact.chars} chars (8 MB by default): heap retained by the result, parse
+ * time and bytes allocated while parsing. Rows are appended to {@code compact-trend.csv} in the benchmark report
+ * directory.
+ */
+class CompactResultsBenchmarkSpec extends Specification {
+	static final long SIZE = Long.getLong('hcl4j.compact.chars', 8 * 1024 * 1024)
+
+	@Unroll
+	void "compact results retain less heap for #shape configurations"() {
+		given:
+		String hcl = SyntheticHCL.text(shape, SIZE)
+		HCLParser parser = new HCLParser()
+		HCLParser compactParser = new HCLParser()
+		compactParser.compactResults = true
+		for(int i = 0; i < 3; i++) {
+			parser.parse(SyntheticHCL.text(shape, 256 * 1024))
+			compactParser.parse(SyntheticHCL.text(shape, 256 * 1024))
+		}
+
+		when:
+		long defaultNanos = BenchmarkReport.bestOf(3) { parser.parse(hcl) }
+		long compactNanos = BenchmarkReport.bestOf(3) { compactParser.parse(hcl) }
+		long defaultAllocated = BenchmarkReport.allocatedBytes { parser.parse(hcl) }
+		long compactAllocated = BenchmarkReport.allocatedBytes { compactParser.parse(hcl) }
+
+		long baseline = BenchmarkReport.usedHeapAfterGc()
+		Map<String, Object> result = parser.parse(hcl)
+		long defaultRetained = BenchmarkReport.usedHeapAfterGc() - baseline
+		result = null
+		baseline = BenchmarkReport.usedHeapAfterGc()
+		result = compactParser.parse(hcl)
+		long compactRetained = BenchmarkReport.usedHeapAfterGc() - baseline
+
+		BenchmarkReport.record('compact', [shape: shape, chars: hcl.length(), defaultMillis: defaultNanos / 1_000_000d,
+			compactMillis: compactNanos / 1_000_000d, defaultRetainedBytes: defaultRetained, compactRetainedBytes: compactRetained,
+			retainedRatio: compactRetained / (double) defaultRetained, defaultAllocatedBytesPerChar: defaultAllocated / (double) hcl.length(),
+			compactAllocatedBytesPerChar: compactAllocated / (double) hcl.length()])
+
+		then:
+		result.size() > 0
+		compactRetained < defaultRetained
+
+		where:
+		shape << [SyntheticHCL.Shape.WIDE, SyntheticHCL.Shape.DEEP]
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Measures lexer throughput on heredoc heavy input, e.g. embedded user data scripts and JSON policies.
+ */
+class HeredocBenchmarkSpec extends Specification {
+
+	static String heredocConfig(int heredocs, int linesPerHeredoc) {
+		StringBuilder hcl = new StringBuilder()
+		for(int h = 0; h < heredocs; h++) {
+			hcl << "resource \"aws_iam_policy\" \"policy_${h}\" {\n"
+			hcl << "  name = \"policy-${h}\"\n"
+			hcl << "  policy = <<-EOF\n"
+			for(int l = 0; l < linesPerHeredoc; l++) {
+				hcl << "    { \"Effect\": \"Allow\", \"Action\": [\"s3:GetObject\", \"s3:PutObject\"], \"Resource\": \"arn:aws:s3:::bucket-${l}/*\" },\n"
+			}
+			hcl << "  EOF\n"
+			hcl << "}\n\n"
+		}
+		return hcl.toString()
+	}
+
+	@Unroll
+	void "heredoc throughput with #heredocs heredocs of #lines lines"() {
+		given:
+		String hcl = heredocConfig(heredocs, lines)
+		HCLParser parser = new HCLParser()
+
+		when:
+		Map results = parser.parse(hcl)
+		long nanos = BenchmarkReport.bestOf(5) { parser.parse(hcl) }
+		long allocated = BenchmarkReport.allocatedBytes { parser.parse(hcl) }
+		BenchmarkReport.record('heredoc', [heredocs: heredocs, lines: lines, chars: hcl.length(), millis: nanos / 1_000_000d,
+			mbPerSecond: BenchmarkReport.megabytesPerSecond(hcl.length(), nanos), allocatedBytesPerChar: allocated / (double) hcl.length()])
+
+		then:
+		results.resource.aws_iam_policy.size() == heredocs
+		results.resource.aws_iam_policy.policy_0.policy.readLines().size() == lines
+
+		where:
+		heredocs | lines
+		200      | 10
+		20       | 1000
+		4        | 50000
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+
+/**
+ * Parses synthetic configurations of growing size (1 KB up to {@code hcl4j.scaling.maxBytes}, 16 MB by default and up
+ * to 1 GB if the heap allows) and fails if parse time or heap usage grow faster than linear. Per input char cost at the
+ * largest size is compared against the cost at one sixteenth of that size (two steps down, so the young generation
+ * no longer hides the symbol tree in the heap figures) and may exceed it by at most
+ * {@code hcl4j.scaling.timeSlack} (time) and {@code hcl4j.scaling.heapSlack} (peak live heap, see
+ * {@link PeakHeapMonitor}), both 3 by default.
+ *
+ * <p>
+ *     Every measurement is appended to {@code scaling-trend.csv} in the benchmark report directory.
+ * </p>
+ */
+class ParserScalingSpec extends Specification {
+	static final long KB = 1024
+	static final long WARM_UP_SIZE = 256 * KB
+	static final long MAX_SIZE = Long.getLong('hcl4j.scaling.maxBytes', 16 * KB * KB)
+	static final double TIME_SLACK = Double.parseDouble(System.getProperty('hcl4j.scaling.timeSlack', '3'))
+	static final double HEAP_SLACK = Double.parseDouble(System.getProperty('hcl4j.scaling.heapSlack', '3'))
+	// heap noise (GC timing, class loading) that is tolerated on top of the linear budget
+	static final long HEAP_ALLOWANCE = 16 * KB * KB
+
+	static List<Long> sizes() {
+		List<Long> sizes = []
+		for(long size = KB; size <= MAX_SIZE; size *= 4) {
+			sizes << size
+		}
+		return sizes
+	}
+
+	@Unroll
+	void "parse cost of #shape configurations grows linearly"() {
+		given:
+		warmUp(shape)
+		Map<Long, Measurement> measurements = [:]
+
+		when:
+		for(long size : sizes()) {
+			Measurement measurement = measure(shape, size)
+			measurements[size] = measurement
+			BenchmarkReport.record('scaling', [shape: shape, bytes: size, millis: measurement.nanos / 1_000_000d,
+				nanosPerByte: measurement.nanosPerByte, peakHeapBytes: measurement.peakHeapBytes,
+				heapBytesPerByte: measurement.heapBytesPerByte])
+		}
+		List<Long> sizes = sizes()
+		Measurement reference = measurements[sizes[Math.max(0, sizes.size() - 3)]]
+		Measurement largest = measurements[sizes.last()]
+
+		then:
+		largest.nanosPerByte <= reference.nanosPerByte * TIME_SLACK
+		largest.peakHeapBytes <= largest.bytes * reference.heapBytesPerByte * HEAP_SLACK + HEAP_ALLOWANCE
+
+		where:
+		shape << SyntheticHCL.Shape.values()
+	}
+
+	private static void warmUp(SyntheticHCL.Shape shape) {
+		String hcl = SyntheticHCL.text(shape, WARM_UP_SIZE)
+		for(int i = 0; i < 5; i++) {
+			new HCLParser().parse(hcl)
+		}
+	}
+
+	private static Measurement measure(SyntheticHCL.Shape shape, long size) {
+		int runs = size <= WARM_UP_SIZE ? 5 : 1
+		long best = Long.MAX_VALUE
+		for(int run = 0; run < runs; run++) {
+			System.gc()
+			long start = System.nanoTime()
+			new HCLParser().parse(new SyntheticHCL(shape, size))
+			best = Math.min(best, System.nanoTime() - start)
+		}
+		long peak
+		PeakHeapMonitor monitor = new PeakHeapMonitor()
+		try {
+			peak = monitor.measure { new HCLParser().parse(new SyntheticHCL(shape, size)) }
+		} finally {
+			monitor.close()
+		}
+		return new Measurement(bytes: size, nanos: best, peakHeapBytes: peak)
+	}
+
+	static class Measurement {
+		long bytes
+		long nanos
+		long peakHeapBytes
+
+		double getNanosPerByte() {
+			return nanos / (double) bytes
+		}
+
+		double getHeapBytesPerByte() {
+			return peakHeapBytes / (double) bytes
+		}
+	}
+}
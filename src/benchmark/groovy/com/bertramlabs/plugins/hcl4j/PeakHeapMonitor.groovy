@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import com.sun.management.GarbageCollectionNotificationInfo
+
+import javax.management.Notification
+import javax.management.NotificationEmitter
+import javax.management.NotificationListener
+import javax.management.openmbean.CompositeData
+import java.lang.management.GarbageCollectorMXBean
+import java.lang.management.ManagementFactory
+import java.lang.management.MemoryType
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tracks the peak live heap (heap in use right after a garbage collection) while a closure runs. Unlike pool peak
+ * usage this does not include garbage waiting in the young generation, so it reflects what the parser really retains.
+ */
+class PeakHeapMonitor implements NotificationListener, Closeable {
+	private final Set<String> heapPools = ManagementFactory.memoryPoolMXBeans.findAll { it.type == MemoryType.HEAP }*.name as Set
+	private final List<NotificationEmitter> emitters = []
+	private final AtomicLong peak = new AtomicLong()
+	private final AtomicLong collections = new AtomicLong()
+	/** Keeps the result of the measured closure reachable while its retained heap is measured. */
+	private volatile Object result
+
+	PeakHeapMonitor() {
+		for(GarbageCollectorMXBean collector : ManagementFactory.garbageCollectorMXBeans) {
+			if(collector instanceof NotificationEmitter) {
+				((NotificationEmitter) collector).addNotificationListener(this, null, null)
+				emitters << (NotificationEmitter) collector
+			}
+		}
+	}
+
+	/**
+	 * Runs the closure and returns the peak live heap in bytes it caused, including what its result retains.
+	 */
+	long measure(Closure closure) {
+		long baseline = collectAndWait()
+		peak.set(0)
+		long retained
+		try {
+			result = closure.call()
+			retained = collectAndWait()
+		} finally {
+			result = null
+		}
+		return Math.max(0, Math.max(peak.get(), retained) - baseline)
+	}
+
+	@Override
+	void handleNotification(Notification notification, Object handback) {
+		if(notification.type != GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION) {
+			return
+		}
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.userData)
+		long live = 0
+		info.gcInfo.memoryUsageAfterGc.each { String pool, usage ->
+			if(heapPools.contains(pool)) {
+				live += usage.used
+			}
+		}
+		long current
+		while((current = peak.get()) < live && !peak.compareAndSet(current, live)) {
+		}
+		collections.incrementAndGet()
+	}
+
+	/**
+	 * Runs a full collection and returns the heap in use afterwards. Notifications of collections that happened
+	 * earlier are delivered asynchronously, so this also waits until they have been processed.
+	 */
+	private long collectAndWait() {
+		long before = collections.get()
+		System.gc()
+		long live = ManagementFactory.memoryMXBean.heapMemoryUsage.used
+		long deadline = System.currentTimeMillis() + 2000
+		while(collections.get() == before && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5)
+		}
+		return live
+	}
+
+	@Override
+	void close() {
+		emitters.each { it.removeNotificationListener(this) }
+	}
+}
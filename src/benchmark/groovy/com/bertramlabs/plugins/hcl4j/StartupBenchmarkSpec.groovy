@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+
+import java.util.jar.JarOutputStream
+import java.util.zip.ZipEntry
+
+/**
+ * Measures cold start: every run is a fresh JVM ({@link ColdStartProbe}) that parses one small file, as a CLI
+ * invocation or a serverless function would. Reported are the medians of the lexer class initialization, the first
+ * parse, the JVM uptime at the first result and the wall clock time of the whole process. If the JVM supports
+ * dynamic class-data sharing archives (Java 13+) the runs are repeated with an archive created by a training run.
+ *
+ * <p>
+ *     The number of runs is {@code hcl4j.startup.runs} (10 by default), the JVM is taken from
+ *     {@code hcl4j.startup.javaHome} (the running one by default). Results are appended to {@code startup-trend.csv}.
+ * </p>
+ */
+class StartupBenchmarkSpec extends Specification {
+	static final int RUNS = Integer.getInteger('hcl4j.startup.runs', 10)
+	static final String JAVA_HOME = System.getProperty('hcl4j.startup.javaHome', System.getProperty('java.home'))
+
+	static final String SAMPLE = '''
+variable "region" {
+  type    = string
+  default = "us-east-1"
+}
+
+resource "aws_instance" "web" {
+  ami           = "ami-123456"
+  instance_type = "t3.micro"
+  count         = 2
+  tags = {
+    Name = "web-${count.index}"
+  }
+  security_groups = ["default", "web"]
+}
+'''
+
+	File workDir
+	File sample
+	String classpath
+
+	def setup() {
+		workDir = File.createTempDir('hcl4j-startup', '')
+		sample = new File(workDir, 'main.tf')
+		sample.text = SAMPLE
+		// class-data sharing only archives classes loaded from jar files, so the classes under test are packaged first
+		File jar = new File(workDir, 'hcl4j.jar')
+		packageJar(jar, [codeSource(HCLParser), codeSource(ColdStartProbe)])
+		classpath = ([jar] + slf4jJars()).collect { it.absolutePath }.join(File.pathSeparator)
+	}
+
+	def cleanup() {
+		workDir.deleteDir()
+	}
+
+	void "time to first parse result in a fresh JVM"() {
+		when:
+		// parsing must not initialize the logging backend, that alone used to take longer than the parse itself
+		List<String> slf4jClasses = run(['-verbose:class']).output.findAll { it.contains('org.slf4j.') }
+		Map<String, Number> cold = measure('default', [])
+
+		then:
+		cold.keys == 2
+		slf4jClasses.empty
+	}
+
+	void "time to first parse result in a fresh JVM with a class-data sharing archive"() {
+		given:
+		File archive = new File(workDir, 'hcl4j.jsa')
+
+		when:
+		boolean supported = javaVersion() >= 13
+		Map<String, Number> shared = null
+		if(supported) {
+			run(["-XX:ArchiveClassesAtExit=${archive.absolutePath}"])
+			shared = measure('appcds', ["-XX:SharedArchiveFile=${archive.absolutePath}"])
+		}
+
+		then:
+		!supported || (archive.exists() && shared.keys == 2)
+	}
+
+	private Map<String, Number> measure(String mode, List<String> jvmArgs) {
+		List<Map<String, Number>> runs = []
+		for(int i = 0; i < RUNS; i++) {
+			runs << run(jvmArgs).values
+		}
+		Map<String, Number> medians = [:]
+		runs[0].keySet().each { key -> medians[key] = median(runs.collect { it[key] }) }
+		BenchmarkReport.record('startup', [mode: mode, runs: RUNS, lexerInitMillis: medians.lexerInitNanos / 1_000_000d,
+			firstParseMillis: medians.firstParseNanos / 1_000_000d, secondParseMillis: medians.secondParseNanos / 1_000_000d,
+			uptimeMillis: medians.uptimeMillis, processMillis: medians.processNanos / 1_000_000d])
+		return medians
+	}
+
+	private Map run(List<String> jvmArgs) {
+		List<String> command = [java()] + jvmArgs.collect { it.toString() } +
+			['-cp', classpath, ColdStartProbe.name, sample.absolutePath]
+		long start = System.nanoTime()
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start()
+		List<String> output = process.inputStream.readLines()
+		int exitCode = process.waitFor()
+		long processNanos = System.nanoTime() - start
+		if(exitCode != 0) {
+			throw new IllegalStateException("Probe failed with exit code ${exitCode}:\n${output.join('\n')}")
+		}
+		Map<String, Number> values = [processNanos: processNanos]
+		output.findAll { it ==~ /\w+=\d+/ }.each { line ->
+			String[] pair = line.split('=')
+			values[pair[0]] = Long.parseLong(pair[1])
+		}
+		return [output: output, values: values]
+	}
+
+	private static Number median(List<Number> values) {
+		List<Number> sorted = values.sort(false)
+		return sorted[sorted.size().intdiv(2)]
+	}
+
+	private static int javaVersion() {
+		List<String> output = new ProcessBuilder(java(), '-version').redirectErrorStream(true).start().inputStream.readLines()
+		String version = output.findResult { line -> (line =~ /version "([^"]+)"/).with { it.find() ? it.group(1) : null } }
+		return version.startsWith('1.') ? Integer.parseInt(version.split('\\.')[1]) : Integer.parseInt(version.split('[.+-]')[0])
+	}
+
+	private static String java() {
+		return new File(JAVA_HOME, 'bin/java').absolutePath
+	}
+
+	private static File codeSource(Class type) {
+		return new File(type.protectionDomain.codeSource.location.toURI())
+	}
+
+	private static List<File> slf4jJars() {
+		List<File> jars = [codeSource(org.slf4j.LoggerFactory)]
+		try {
+			jars << codeSource(Class.forName('org.slf4j.impl.StaticLoggerBinder'))
+		} catch(ClassNotFoundException ignored) {
+			// no binding on the benchmark classpath
+		}
+		return jars
+	}
+
+	private static void packageJar(File jar, List<File> sources) {
+		jar.withOutputStream { stream ->
+			JarOutputStream out = new JarOutputStream(stream)
+			Set<String> entries = [] as Set
+			sources.each { File source ->
+				if(source.isFile()) {
+					new java.util.zip.ZipFile(source).withCloseable { zip ->
+						zip.entries().each { ZipEntry entry ->
+							if(!entry.directory && entries.add(entry.name) && !entry.name.startsWith('META-INF/')) {
+								out.putNextEntry(new ZipEntry(entry.name))
+								out << zip.getInputStream(entry)
+								out.closeEntry()
+							}
+						}
+					}
+				} else {
+					source.eachFileRecurse { File file ->
+						String name = source.toURI().relativize(file.toURI()).path
+						if(file.isFile() && name.endsWith('.class') && entries.add(name)) {
+							out.putNextEntry(new ZipEntry(name))
+							out << file.bytes
+							out.closeEntry()
+						}
+					}
+				}
+			}
+			out.finish()
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import groovy.transform.CompileStatic
+
+/**
+ * Generates synthetic HCL of a given shape and approximate size. The text is produced lazily by a {@link Reader},
+ * so even gigabyte sized inputs do not need to be held in memory and do not distort heap measurements.
+ */
+@CompileStatic
+class SyntheticHCL extends Reader {
+
+	enum Shape {
+		/** many small resource blocks */
+		WIDE,
+		/** blocks nested 32 levels deep */
+		DEEP,
+		/** attributes with 4 KB string values */
+		LONG_STRINGS,
+		/** blocks carrying 50 line heredocs */
+		HEREDOCS,
+		/** one array that grows with the input */
+		BIG_ARRAY
+	}
+
+	private static final String LONG_VALUE = 'x' * 4096
+	private static final String HEREDOC_LINE = '    {"Effect": "Allow", "Action": "s3:GetObject", "Resource": "arn:aws:s3:::bucket/*"},\n'
+
+	private final Shape shape
+	private final long targetChars
+	// chars of all units before the pending one
+	private long produced = 0
+	private int unit = 0
+	private String pending
+	private int offset = 0
+	private boolean footerWritten = false
+
+	SyntheticHCL(Shape shape, long targetChars) {
+		this.shape = shape
+		this.targetChars = targetChars
+		this.pending = header()
+	}
+
+	/**
+	 * Materializes a synthetic configuration as a String, handy for smaller sizes.
+	 */
+	static String text(Shape shape, long targetChars) {
+		StringWriter writer = new StringWriter()
+		SyntheticHCL reader = new SyntheticHCL(shape, targetChars)
+		char[] buffer = new char[8192]
+		int read
+		while((read = reader.read(buffer, 0, buffer.length)) != -1) {
+			writer.write(buffer, 0, read)
+		}
+		return writer.toString()
+	}
+
+	@Override
+	int read(char[] buffer, int off, int len) {
+		int written = 0
+		while(written < len) {
+			if(offset >= pending.length()) {
+				if(!advance()) {
+					break
+				}
+			}
+			int count = Math.min(len - written, pending.length() - offset)
+			pending.getChars(offset, offset + count, buffer, off + written)
+			offset += count
+			written += count
+		}
+		return written == 0 ? -1 : written
+	}
+
+	@Override
+	void close() {
+	}
+
+	private boolean advance() {
+		if(produced + offset < targetChars) {
+			produced += offset
+			pending = nextUnit(unit++)
+			offset = 0
+			return true
+		}
+		if(!footerWritten) {
+			footerWritten = true
+			produced += offset
+			pending = footer()
+			offset = 0
+			return pending.length() > 0
+		}
+		return false
+	}
+
+	private String header() {
+		return shape == Shape.BIG_ARRAY ? 'values = [\n' : ''
+	}
+
+	private String footer() {
+		return shape == Shape.BIG_ARRAY ? ']\n' : ''
+	}
+
+	private String nextUnit(int n) {
+		switch(shape) {
+			case Shape.WIDE:
+				return "resource \"aws_instance\" \"web_${n}\" {\n  ami = \"ami-${n}\"\n  count = ${n}\n  enabled = true\n  tags = {\n    Name = \"web-${n}\"\n  }\n}\n\n".toString()
+			case Shape.DEEP:
+				StringBuilder deep = new StringBuilder()
+				for(int level = 0; level < 32; level++) {
+					deep.append(' ' * level).append("level_${level} {\n")
+					deep.append(' ' * level).append("  id = \"${n}-${level}\"\n")
+				}
+				for(int level = 31; level >= 0; level--) {
+					deep.append(' ' * level).append('}\n')
+				}
+				return "root_${n} {\n${deep}}\n".toString()
+			case Shape.LONG_STRINGS:
+				return "value_${n} = \"${LONG_VALUE}\"\n".toString()
+			case Shape.HEREDOCS:
+				return "resource \"aws_iam_policy\" \"policy_${n}\" {\n  policy = <<-EOF\n${HEREDOC_LINE * 50}  EOF\n}\n".toString()
+			case Shape.BIG_ARRAY:
+				return "  \"item-${n}\", ${n}, true,\n".toString()
+		}
+		throw new IllegalStateException("Unknown shape ${shape}")
+	}
+}
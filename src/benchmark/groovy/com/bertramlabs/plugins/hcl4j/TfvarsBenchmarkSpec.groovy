@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Compares {@link HCLParser#parseTfvars} with {@link HCLParser#parse} on typical variable files: many small files as
+ * loaded per pipeline run, and a few large ones.
+ */
+class TfvarsBenchmarkSpec extends Specification {
+
+	static String tfvars(int attributes) {
+		StringBuilder hcl = new StringBuilder("# generated variables\n")
+		for(int i = 0; i < attributes; i++) {
+			switch(i % 5) {
+				case 0:
+					hcl << "name_${i} = \"value-${i}-\${var.environment}\"\n"
+					break
+				case 1:
+					hcl << "count_${i} = ${i}\n"
+					break
+				case 2:
+					hcl << "zones_${i} = [\"us-east-1a\", \"us-east-1b\", \"us-east-1c\"]\n"
+					break
+				case 3:
+					hcl << "tags_${i} = {\n  Name = \"resource-${i}\"\n  Team = \"core\"\n  Cost = ${i * 3}\n}\n"
+					break
+				default:
+					hcl << "policy_${i} = <<-EOF\n  {\"Effect\": \"Allow\", \"Resource\": \"arn:aws:s3:::bucket-${i}/*\"}\nEOF\n"
+			}
+		}
+		return hcl.toString()
+	}
+
+	@Unroll
+	void "tfvars throughput for #files files of #attributes attributes"() {
+		given:
+		String hcl = tfvars(attributes)
+		HCLParser parser = new HCLParser()
+
+		when:
+		Map expected = parser.parse(hcl)
+		Map actual = parser.parseTfvars(hcl)
+		long parseNanos = BenchmarkReport.bestOf(5) { for(int f = 0; f < files; f++) { parser.parse(hcl) } }
+		long tfvarsNanos = BenchmarkReport.bestOf(5) { for(int f = 0; f < files; f++) { parser.parseTfvars(hcl) } }
+		long parseAllocated = BenchmarkReport.allocatedBytes { parser.parse(hcl) }
+		long tfvarsAllocated = BenchmarkReport.allocatedBytes { parser.parseTfvars(hcl) }
+		BenchmarkReport.record('tfvars', [files: files, attributes: attributes, chars: hcl.length() * (long) files,
+			parseMillis: parseNanos / 1_000_000d, tfvarsMillis: tfvarsNanos / 1_000_000d, speedup: parseNanos / (double) tfvarsNanos,
+			parseAllocatedBytesPerChar: parseAllocated / (double) hcl.length(), tfvarsAllocatedBytesPerChar: tfvarsAllocated / (double) hcl.length()])
+
+		then:
+		actual == expected
+		new TfvarsParser(hcl.toCharArray(), hcl.length()).parse() != null
+
+		where:
+		files | attributes
+		5000  | 20
+		50    | 2000
+		2     | 100000
+	}
+}
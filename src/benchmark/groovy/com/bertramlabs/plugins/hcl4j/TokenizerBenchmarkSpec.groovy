@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j
+
+import groovy.transform.CompileStatic
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Compares {@link HCLTokenizer} with the full {@link HCLLexer} on synthetic configurations of
+ * {@code hcl4j.tokenizer.chars} chars (4 MB by default): throughput, and bytes allocated per input char, which should be
+ * close to zero for the tokenizer. Rows are appended to {@code tokenizer-trend.csv} in the benchmark report directory.
+ */
+class TokenizerBenchmarkSpec extends Specification {
+	static final long SIZE = Long.getLong('hcl4j.tokenizer.chars', 4 * 1024 * 1024)
+
+	@Unroll
+	void "tokenizing #shape configurations is cheaper than lexing them"() {
+		given:
+		String hcl = SyntheticHCL.text(shape, SIZE)
+		HCLTokenizer tokenizer = new HCLTokenizer()
+		int[] buffer = new int[1024 * HCLTokenizer.STRIDE]
+		for(int i = 0; i < 5; i++) {
+			tokenize(tokenizer, hcl, buffer)
+			lex(hcl.substring(0, Math.min(hcl.length(), 256 * 1024)))
+		}
+
+		when:
+		int tokens = 0
+		long tokenizerNanos = BenchmarkReport.bestOf(5) { tokens = tokenize(tokenizer, hcl, buffer) }
+		long lexerNanos = BenchmarkReport.bestOf(3) { lex(hcl) }
+		long tokenizerAllocated = BenchmarkReport.allocatedBytes { tokenize(tokenizer, hcl, buffer) }
+		long lexerAllocated = BenchmarkReport.allocatedBytes { lex(hcl) }
+		BenchmarkReport.record('tokenizer', [shape: shape, chars: hcl.length(), tokens: tokens,
+			tokenizerMillis: tokenizerNanos / 1_000_000d, lexerMillis: lexerNanos / 1_000_000d,
+			tokenizerMBPerSecond: BenchmarkReport.megabytesPerSecond(hcl.length(), tokenizerNanos),
+			lexerMBPerSecond: BenchmarkReport.megabytesPerSecond(hcl.length(), lexerNanos),
+			tokenizerAllocatedBytesPerChar: tokenizerAllocated / (double) hcl.length(),
+			lexerAllocatedBytesPerChar: lexerAllocated / (double) hcl.length()])
+
+		then:
+		tokens > 0
+		tokenizerNanos < lexerNanos
+		tokenizerAllocated < hcl.length() / 100
+
+		where:
+		shape << SyntheticHCL.Shape.values()
+	}
+
+	@CompileStatic
+	private static int tokenize(HCLTokenizer tokenizer, String hcl, int[] buffer) {
+		tokenizer.reset(hcl)
+		int total = 0
+		int count
+		while((count = tokenizer.read(buffer, 0, 1024)) > 0) {
+			total += count
+		}
+		return total
+	}
+
+	private static void lex(String hcl) {
+		new HCLLexer(new StringReader(hcl)).yylex()
+	}
+}
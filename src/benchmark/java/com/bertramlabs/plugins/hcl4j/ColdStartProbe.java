@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Entry point of the fresh JVM started by {@code StartupBenchmarkSpec}: parses one file and prints how long loading
+ * and initializing the lexer and parsing the file took. It is plain Java, so no Groovy runtime is loaded in the
+ * measured JVM.
+ */
+public class ColdStartProbe {
+	public static void main(String[] args) throws Exception {
+		long start = System.nanoTime();
+		Class.forName("com.bertramlabs.plugins.hcl4j.HCLLexer");
+		long lexerLoaded = System.nanoTime();
+		Map<String, Object> result = new HCLParser().parse(new File(args[0]));
+		long parsed = System.nanoTime();
+		new HCLParser().parse(new File(args[0]));
+		long secondParsed = System.nanoTime();
+
+		// Only touched once everything is measured, JMX itself is expensive to initialize.
+		long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		System.out.println("lexerInitNanos=" + (lexerLoaded - start));
+		System.out.println("firstParseNanos=" + (parsed - lexerLoaded));
+		System.out.println("secondParseNanos=" + (secondParsed - parsed));
+		System.out.println("uptimeMillis=" + uptime);
+		System.out.println("keys=" + result.size());
+	}
+}
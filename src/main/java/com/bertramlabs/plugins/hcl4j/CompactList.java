@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The immutable list counterpart of {@link CompactMap}: one exact-size array.
+ */
+final class CompactList extends AbstractList<Object> implements RandomAccess {
+	static final CompactList EMPTY = new CompactList(new Object[0]);
+
+	private final Object[] elements;
+
+	CompactList(Object[] elements) {
+		this.elements = elements;
+	}
+
+	@Override
+	public Object get(int index) {
+		if(index < 0 || index >= elements.length) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+		}
+		return elements[index];
+	}
+
+	@Override
+	public int size() {
+		return elements.length;
+	}
+}
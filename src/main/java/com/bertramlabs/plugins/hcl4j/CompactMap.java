@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The immutable, insertion ordered map returned by {@link HCLParser#parse} with {@link HCLParser#setCompactResults}.
+ * Keys and values are kept in two exact-size parallel arrays; up to {@link #LINEAR_LIMIT} keys are found by a linear
+ * scan, larger maps add an open addressing index of positions. That is two or three arrays per map instead of a hash
+ * table plus one entry object per key. All fields are final and values are frozen before the map is created, so a
+ * result can be shared between threads without synchronization.
+ */
+final class CompactMap extends AbstractMap<String, Object> {
+	static final int LINEAR_LIMIT = 8;
+	static final CompactMap EMPTY = new CompactMap(new Object[0], new Object[0], null);
+
+	private final Object[] keys;
+	private final Object[] values;
+	private final int[] index;
+
+	private CompactMap(Object[] keys, Object[] values, int[] index) {
+		this.keys = keys;
+		this.values = values;
+		this.index = index;
+	}
+
+	/**
+	 * Converts a parse result map, recursively, into a compact immutable one.
+	 */
+	static Map<String, Object> freeze(Map<String, Object> result) {
+		return (CompactMap) freeze((Object) result);
+	}
+
+	/**
+	 * Converts the maps and lists of a parse result, recursively, into compact immutable ones. Other values (strings,
+	 * numbers, booleans and symbols) are kept.
+	 */
+	static Object freeze(Object value) {
+		if(value instanceof Builder) {
+			return ((Builder) value).freeze();
+		} else if(value instanceof CompactMap || value instanceof CompactList) {
+			return value;
+		} else if(value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			if(map.isEmpty()) {
+				return EMPTY;
+			}
+			Builder builder = new Builder(map.size());
+			for(Map.Entry<?, ?> entry : map.entrySet()) {
+				builder.put((String) entry.getKey(), entry.getValue());
+			}
+			return builder.freeze();
+		} else if(value instanceof List) {
+			List<?> list = (List<?>) value;
+			if(list.isEmpty()) {
+				return CompactList.EMPTY;
+			}
+			Object[] elements = list.toArray();
+			for(int i = 0; i < elements.length; i++) {
+				elements[i] = freeze(elements[i]);
+			}
+			return new CompactList(elements);
+		}
+		return value;
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return find(keys, keys.length, index, key) >= 0;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int position = find(keys, keys.length, index, key);
+		return position < 0 ? null : values[position];
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<Entry<String, Object>>() {
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				return new Iterator<Entry<String, Object>>() {
+					private int next;
+
+					@Override
+					public boolean hasNext() {
+						return next < keys.length;
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						if(next >= keys.length) {
+							throw new NoSuchElementException();
+						}
+						int position = next++;
+						return new SimpleImmutableEntry<>((String) keys[position], values[position]);
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException("Parse results are immutable");
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return keys.length;
+			}
+		};
+	}
+
+	private static int find(Object[] keys, int size, int[] index, Object key) {
+		if(key == null) {
+			return -1;
+		}
+		if(index == null) {
+			for(int i = 0; i < size; i++) {
+				if(key.equals(keys[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+		int mask = index.length - 1;
+		for(int slot = mix(key.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+			int position = index[slot] - 1;
+			if(key.equals(keys[position])) {
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Builds an index with a load factor of at most one half; slots hold the position plus one, 0 is free.
+	 */
+	private static int[] index(Object[] keys, int size, int capacity) {
+		int[] index = new int[capacity];
+		int mask = capacity - 1;
+		for(int position = 0; position < size; position++) {
+			int slot = mix(keys[position].hashCode()) & mask;
+			while(index[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			index[slot] = position + 1;
+		}
+		return index;
+	}
+
+	private static int indexCapacity(int size) {
+		return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+	}
+
+	private static int mix(int hash) {
+		hash *= 0x9e3779b9;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * The mutable map {@link HCLParser} fills while processing symbols, with the same layout and lookup. It only
+	 * supports what the parser uses and never leaves the parser: {@link #freeze()} turns it into a {@link CompactMap}.
+	 */
+	static final class Builder extends AbstractMap<String, Object> {
+		private Object[] keys;
+		private Object[] values;
+		private int[] index;
+		private int size;
+
+		Builder() {
+			this(4);
+		}
+
+		Builder(int capacity) {
+			keys = new Object[Math.max(capacity, 1)];
+			values = new Object[keys.length];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return find(keys, size, index, key) >= 0;
+		}
+
+		@Override
+		public Object get(Object key) {
+			int position = find(keys, size, index, key);
+			return position < 0 ? null : values[position];
+		}
+
+		@Override
+		public Object put(String key, Object value) {
+			int position = find(keys, size, index, key);
+			if(position >= 0) {
+				Object previous = values[position];
+				values[position] = value;
+				return previous;
+			}
+			if(size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			keys[size] = key;
+			values[size] = value;
+			size++;
+			if(size > LINEAR_LIMIT) {
+				if(index == null || size * 2 > index.length) {
+					index = index(keys, size, indexCapacity(size) * 2);
+				} else {
+					int mask = index.length - 1;
+					int slot = mix(key.hashCode()) & mask;
+					while(index[slot] != 0) {
+						slot = (slot + 1) & mask;
+					}
+					index[slot] = size;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			throw new UnsupportedOperationException("Builders are only used while parsing");
+		}
+
+		CompactMap freeze() {
+			if(size == 0) {
+				return EMPTY;
+			}
+			Object[] frozenKeys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+			Object[] frozenValues = size == values.length ? values : Arrays.copyOf(values, size);
+			for(int i = 0; i < size; i++) {
+				frozenValues[i] = CompactMap.freeze(frozenValues[i]);
+			}
+			int[] frozenIndex = null;
+			if(size > LINEAR_LIMIT) {
+				int capacity = indexCapacity(size);
+				frozenIndex = index != null && index.length == capacity ? index : index(frozenKeys, size, capacity);
+			}
+			return new CompactMap(frozenKeys, frozenValues, frozenIndex);
+		}
+	}
+}
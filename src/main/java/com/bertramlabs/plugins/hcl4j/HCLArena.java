@@ -0,0 +1,828 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.BooleanPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.ListPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.MapPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.NumberPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.PrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SetPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.StringPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SubTypePrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.Variable;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLArray;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLMap;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A parsed configuration stored in flat primitive pages instead of a tree of {@link Symbol} objects. Every node
+ * occupies a fixed number of ints (kind, parent, first child, next sibling, source span, name and value), nodes are
+ * laid out in document order and all names, labels and values live in one deduplicating string table. A
+ * configuration with millions of nodes therefore costs a few hundred page objects on the heap, or almost none when
+ * the pages are allocated off-heap, which keeps garbage collection times independent of the size of the
+ * configuration.
+ *
+ * <p>
+ *     The arena is read through a {@link Cursor}, which moves between nodes without allocating. Symbols are only
+ *     created on demand by {@link #toSymbol(int)} or {@link #toConfiguration()}, for example to hand a single block to
+ *     {@link HCLDiff} or the binder. An arena is immutable once parsed and can be read by several threads, each with
+ *     its own cursor.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLArena arena = new HCLParser().parseArena(new File("huge.tf"));
+ *     HCLArena.Cursor cursor = arena.cursor();
+ *     for(boolean more = cursor.firstRoot(); more; more = cursor.nextSibling()) {
+ *         if(cursor.getKind() == HCLArena.Kind.BLOCK && cursor.nameEquals("resource")) {
+ *             System.out.println(cursor.getBlockName(1) + "." + cursor.getBlockName(2));
+ *         }
+ *     }
+ *     }
+ * </pre>
+ */
+public final class HCLArena {
+	/**
+	 * The kind of a node. Expressions without a dedicated kind, like for-expressions, are kept as their symbol
+	 * ({@link #OBJECT}).
+	 */
+	public enum Kind {
+		BLOCK, ATTRIBUTE, MAP, ARRAY, STRING, NUMBER, BOOLEAN, NULL, VARIABLE, TYPE, OBJECT
+	}
+
+	/**
+	 * Returned by {@link Cursor#getNode()} and the node links when there is no node.
+	 */
+	public static final int NONE = -1;
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private static final int KIND = 0;
+	private static final int PARENT = 1;
+	private static final int FIRST_CHILD = 2;
+	private static final int NEXT_SIBLING = 3;
+	private static final int LINE = 4;
+	private static final int COLUMN = 5;
+	private static final int POSITION_HIGH = 6;
+	private static final int POSITION_LOW = 7;
+	private static final int NAME = 8;
+	private static final int VALUE = 9;
+	private static final int LABELS = 10;
+	private static final int LABEL_COUNT = 11;
+	private static final int STRIDE = 12;
+
+	private final boolean direct;
+	private final IntPages nodes;
+	private final IntPages labels;
+	private final StringTable strings;
+	private final List<Symbol> objects = new ArrayList<>();
+	private int nodeCount;
+	private int labelCount;
+	private int firstRoot = NONE;
+	private int lastRoot = NONE;
+
+	/**
+	 * @param direct true to allocate the pages with {@link ByteBuffer#allocateDirect(int)}, outside of the Java heap
+	 */
+	HCLArena(boolean direct) {
+		this.direct = direct;
+		this.nodes = new IntPages(direct);
+		this.labels = new IntPages(direct);
+		this.strings = new StringTable(direct);
+	}
+
+	/**
+	 * @return true if the pages of this arena are allocated outside of the Java heap
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return the number of distinct strings stored, names and short values are only stored once
+	 */
+	public int getStringCount() {
+		return strings.count;
+	}
+
+	/**
+	 * @return a new cursor, positioned before the first root node
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	/**
+	 * Materializes all root blocks and attributes, the same result {@link HCLParser#parseConfiguration(java.io.Reader)}
+	 * returns for the input of this arena.
+	 * @return a new configuration
+	 * @throws HCLParserException if a root node is neither a block nor an attribute
+	 */
+	public HCLConfiguration toConfiguration() throws HCLParserException {
+		List<HCLBlock> blocks = new ArrayList<>();
+		List<HCLAttribute> attributes = new ArrayList<>();
+		for(int node = firstRoot; node != NONE; node = get(node, NEXT_SIBLING)) {
+			Symbol symbol = toSymbol(node);
+			if(symbol instanceof HCLAttribute) {
+				attributes.add((HCLAttribute) symbol);
+			} else if(symbol instanceof HCLBlock) {
+				blocks.add((HCLBlock) symbol);
+			} else {
+				throw new HCLParserException("The root blocks must only consist of Blocks and Attributes");
+			}
+		}
+		return new HCLConfiguration(blocks, attributes);
+	}
+
+	/**
+	 * Materializes a node and everything below it as new symbols. {@link Kind#OBJECT} nodes are not copied, the same
+	 * expression symbol is returned by every materialization.
+	 * @param node a node of this arena, see {@link Cursor#getNode()}
+	 * @return the symbol tree of the node, without a parent
+	 */
+	public Symbol toSymbol(int node) {
+		checkNode(node);
+		return materialize(node, null);
+	}
+
+	private Symbol materialize(int node, Symbol parent) {
+		Integer line = optional(get(node, LINE));
+		Integer column = optional(get(node, COLUMN));
+		long rawPosition = position(node);
+		Long position = rawPosition < 0 ? null : rawPosition;
+		Symbol symbol;
+		switch(KINDS[get(node, KIND)]) {
+			case BLOCK:
+				symbol = new HCLBlock(blockNames(node), parent, line, column, position);
+				break;
+			case ATTRIBUTE:
+				symbol = new HCLAttribute(string(node, NAME), line, column, position);
+				break;
+			case MAP:
+				symbol = new HCLMap(line, column, position);
+				break;
+			case ARRAY:
+				symbol = new HCLArray(line, column, position);
+				break;
+			case STRING:
+				symbol = new HCLValue("string", string(node, VALUE), line, column, position);
+				break;
+			case NUMBER:
+				symbol = new HCLValue("number", string(node, VALUE), line, column, position);
+				break;
+			case BOOLEAN:
+				symbol = new HCLValue("boolean", get(node, VALUE) != 0 ? "true" : "false", line, column, position);
+				break;
+			case NULL:
+				symbol = new HCLValue("null", null, line, column, position);
+				break;
+			case VARIABLE:
+				symbol = new Variable(string(node, NAME), line, column, position);
+				break;
+			case TYPE:
+				return primitiveType(node, line, column, position);
+			default:
+				return objects.get(get(node, VALUE));
+		}
+		for(int child = get(node, FIRST_CHILD); child != NONE; child = get(child, NEXT_SIBLING)) {
+			symbol.appendChild(materialize(child, symbol));
+		}
+		return symbol;
+	}
+
+	private PrimitiveType primitiveType(int node, Integer line, Integer column, Long position) {
+		int subTypeNode = get(node, FIRST_CHILD);
+		PrimitiveType subType = subTypeNode == NONE ? null : (PrimitiveType) materialize(subTypeNode, null);
+		switch(string(node, NAME)) {
+			case "string":
+				return new StringPrimitiveType(line, column, position);
+			case "number":
+				return new NumberPrimitiveType(line, column, position);
+			case "boolean":
+				return new BooleanPrimitiveType(line, column, position);
+			case "list":
+				return new ListPrimitiveType(subType, line, column, position);
+			case "map":
+				return new MapPrimitiveType(subType, line, column, position);
+			default:
+				return new SetPrimitiveType(subType, line, column, position);
+		}
+	}
+
+	private List<String> blockNames(int node) {
+		int offset = get(node, LABELS);
+		int count = get(node, LABEL_COUNT);
+		List<String> names = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			names.add(strings.get(labels.get(offset + i)));
+		}
+		return names;
+	}
+
+	private int get(int node, int field) {
+		return nodes.get((long) node * STRIDE + field);
+	}
+
+	private void set(int node, int field, int value) {
+		nodes.set((long) node * STRIDE + field, value);
+	}
+
+	private String string(int node, int field) {
+		return strings.get(get(node, field));
+	}
+
+	private long position(int node) {
+		return ((long) get(node, POSITION_HIGH) << 32) | (get(node, POSITION_LOW) & 0xffffffffL);
+	}
+
+	private static Integer optional(int value) {
+		return value < 0 ? null : value;
+	}
+
+	private void checkNode(int node) {
+		if(node < 0 || node >= nodeCount) {
+			throw new IndexOutOfBoundsException("Node " + node + " is not part of this arena (" + nodeCount + " nodes)");
+		}
+	}
+
+	/**
+	 * Copies completed root symbols from the lexer into the arena. The symbols are dropped by the lexer afterwards, so
+	 * no more than one root symbol tree exists at any time while parsing.
+	 */
+	final class Builder implements HCLLexer.RootSymbolHandler {
+		private final boolean skipInvalidRoots;
+
+		/**
+		 * @param skipInvalidRoots true to drop root symbols that are neither blocks nor attributes instead of failing
+		 */
+		Builder(boolean skipInvalidRoots) {
+			this.skipInvalidRoots = skipInvalidRoots;
+		}
+
+		@Override
+		public void rootSymbol(Symbol symbol) throws HCLParserException {
+			if(!(symbol instanceof HCLBlock) && !(symbol instanceof HCLAttribute)) {
+				if(skipInvalidRoots) {
+					return;
+				}
+				throw new HCLParserException("The root blocks must only consist of Blocks and Attributes");
+			}
+			int node = append(symbol, NONE);
+			if(lastRoot == NONE) {
+				firstRoot = node;
+			} else {
+				set(lastRoot, NEXT_SIBLING, node);
+			}
+			lastRoot = node;
+		}
+
+		private int append(Symbol symbol, int parent) {
+			int node = nodeCount++;
+			nodes.ensure((long) nodeCount * STRIDE);
+			Kind kind = kindOf(symbol);
+			set(node, KIND, kind.ordinal());
+			set(node, PARENT, parent);
+			set(node, FIRST_CHILD, NONE);
+			set(node, NEXT_SIBLING, NONE);
+			set(node, LINE, symbol.getLine() == null ? NONE : symbol.getLine());
+			set(node, COLUMN, symbol.getColumn() == null ? NONE : symbol.getColumn());
+			long position = symbol.getPosition() == null ? NONE : symbol.getPosition();
+			set(node, POSITION_HIGH, (int) (position >>> 32));
+			set(node, POSITION_LOW, (int) position);
+			set(node, NAME, strings.add(symbol.getName()));
+			set(node, VALUE, NONE);
+			set(node, LABELS, NONE);
+			set(node, LABEL_COUNT, 0);
+
+			switch(kind) {
+				case BLOCK:
+					List<String> blockNames = ((HCLBlock) symbol).blockNames;
+					labels.ensure((long) labelCount + blockNames.size());
+					set(node, LABELS, labelCount);
+					set(node, LABEL_COUNT, blockNames.size());
+					for(String blockName : blockNames) {
+						labels.set(labelCount++, strings.add(blockName));
+					}
+					break;
+				case STRING:
+				case NUMBER:
+					set(node, VALUE, strings.add((String) ((HCLValue) symbol).getValue()));
+					break;
+				case BOOLEAN:
+					set(node, VALUE, "true".equals(((HCLValue) symbol).getValue()) ? 1 : 0);
+					break;
+				case TYPE:
+					if(symbol instanceof SubTypePrimitiveType && ((SubTypePrimitiveType) symbol).subType != null) {
+						set(node, FIRST_CHILD, append(((SubTypePrimitiveType) symbol).subType, node));
+					}
+					return node;
+				case OBJECT:
+					symbol.setParent(null);
+					set(node, VALUE, objects.size());
+					objects.add(symbol);
+					return node;
+				default:
+					break;
+			}
+
+			int previous = NONE;
+			for(Symbol child : symbol.getChildren()) {
+				int childNode = append(child, node);
+				if(previous == NONE) {
+					set(node, FIRST_CHILD, childNode);
+				} else {
+					set(previous, NEXT_SIBLING, childNode);
+				}
+				previous = childNode;
+			}
+			return node;
+		}
+	}
+
+	private static Kind kindOf(Symbol symbol) {
+		Class<?> type = symbol.getClass();
+		if(type == HCLBlock.class) {
+			return Kind.BLOCK;
+		} else if(type == HCLAttribute.class) {
+			return Kind.ATTRIBUTE;
+		} else if(type == HCLMap.class) {
+			return Kind.MAP;
+		} else if(type == HCLArray.class) {
+			return Kind.ARRAY;
+		} else if(type == HCLValue.class && symbol.getChildren().isEmpty()) {
+			switch(((HCLValue) symbol).getType()) {
+				case "string":
+					return Kind.STRING;
+				case "number":
+					return Kind.NUMBER;
+				case "boolean":
+					return Kind.BOOLEAN;
+				case "null":
+					return Kind.NULL;
+				default:
+					return Kind.OBJECT;
+			}
+		} else if(type == Variable.class && symbol.getChildren().isEmpty()) {
+			return Kind.VARIABLE;
+		}
+		return isPrimitiveType(symbol) ? Kind.TYPE : Kind.OBJECT;
+	}
+
+	private static boolean isPrimitiveType(Symbol symbol) {
+		Class<?> type = symbol.getClass();
+		if(!symbol.getChildren().isEmpty()) {
+			return false;
+		} else if(type == StringPrimitiveType.class || type == NumberPrimitiveType.class || type == BooleanPrimitiveType.class) {
+			return true;
+		} else if(type == ListPrimitiveType.class || type == MapPrimitiveType.class || type == SetPrimitiveType.class) {
+			PrimitiveType subType = ((SubTypePrimitiveType) symbol).subType;
+			return subType == null || isPrimitiveType(subType);
+		}
+		return false;
+	}
+
+	/**
+	 * A movable position in the arena. Navigation and name comparisons never allocate; only methods returning
+	 * strings or symbols do. A cursor is not thread safe, create one per thread.
+	 */
+	public final class Cursor {
+		private int node = NONE;
+
+		private Cursor() {
+		}
+
+		/**
+		 * @return the current node, or {@link HCLArena#NONE} before the cursor was moved
+		 */
+		public int getNode() {
+			return node;
+		}
+
+		/**
+		 * Moves to a node returned by {@link #getNode()} earlier.
+		 */
+		public void moveTo(int node) {
+			checkNode(node);
+			this.node = node;
+		}
+
+		/**
+		 * Moves to the first root block or attribute.
+		 * @return false if the configuration is empty, the cursor is not moved then
+		 */
+		public boolean firstRoot() {
+			return moveIfPresent(firstRoot);
+		}
+
+		/**
+		 * Moves to the first child, the first attribute of a block, the value of an attribute or the first element of
+		 * a map or array.
+		 * @return false if the node has no children, the cursor is not moved then
+		 */
+		public boolean firstChild() {
+			return moveIfPresent(get(current(), FIRST_CHILD));
+		}
+
+		/**
+		 * @return false if this is the last node of its parent (or the last root), the cursor is not moved then
+		 */
+		public boolean nextSibling() {
+			return moveIfPresent(get(current(), NEXT_SIBLING));
+		}
+
+		/**
+		 * @return false on a root node, the cursor is not moved then
+		 */
+		public boolean parent() {
+			return moveIfPresent(get(current(), PARENT));
+		}
+
+		public Kind getKind() {
+			return KINDS[get(current(), KIND)];
+		}
+
+		/**
+		 * @return the symbol name: the type of a block, the name of an attribute or variable, the name of a type
+		 */
+		public String getName() {
+			return string(current(), NAME);
+		}
+
+		/**
+		 * Compares the name without creating a string.
+		 */
+		public boolean nameEquals(String name) {
+			return strings.equals(get(current(), NAME), name);
+		}
+
+		/**
+		 * @return the number of block names, the type followed by the labels, or 0 if this is not a block
+		 */
+		public int getBlockNameCount() {
+			return get(current(), LABEL_COUNT);
+		}
+
+		/**
+		 * @param index 0 for the block type, 1 and up for the labels
+		 */
+		public String getBlockName(int index) {
+			return strings.get(labels.get(label(index)));
+		}
+
+		/**
+		 * Compares a block name without creating a string.
+		 * @param index 0 for the block type, 1 and up for the labels
+		 */
+		public boolean blockNameEquals(int index, String name) {
+			return strings.equals(labels.get(label(index)), name);
+		}
+
+		/**
+		 * @return a new list of the block type followed by the labels, empty if this is not a block
+		 */
+		public List<String> getBlockNames() {
+			return blockNames(current());
+		}
+
+		/**
+		 * @return the source text of a string or number, "true" or "false" for booleans, the name of a variable and
+		 * null for all other kinds
+		 */
+		public String getText() {
+			int current = current();
+			switch(KINDS[get(current, KIND)]) {
+				case STRING:
+				case NUMBER:
+					return string(current, VALUE);
+				case BOOLEAN:
+					return get(current, VALUE) != 0 ? "true" : "false";
+				case VARIABLE:
+					return string(current, NAME);
+				default:
+					return null;
+			}
+		}
+
+		/**
+		 * Converts a value node like {@link HCLParser#parse(java.io.Reader)} does: strings as {@link String}, numbers
+		 * as {@link Double}, booleans as {@link Boolean}. Variables and expressions are returned as their symbols.
+		 * @return the value, or null for null values, blocks, attributes, maps and arrays
+		 * @throws HCLParserException if a number cannot be parsed
+		 */
+		public Object getValue() throws HCLParserException {
+			int current = current();
+			switch(KINDS[get(current, KIND)]) {
+				case STRING:
+					return string(current, VALUE);
+				case NUMBER:
+					try {
+						return Double.parseDouble(string(current, VALUE));
+					} catch(NumberFormatException ex) {
+						throw new HCLParserException("Error Parsing Numerical Value in HCL Attribute ", ex);
+					}
+				case BOOLEAN:
+					return get(current, VALUE) != 0 ? Boolean.TRUE : Boolean.FALSE;
+				case VARIABLE:
+				case TYPE:
+				case OBJECT:
+					return materialize(current, null);
+				default:
+					return null;
+			}
+		}
+
+		/**
+		 * @return the zero based source line, or -1 if unknown
+		 */
+		public int getLine() {
+			return get(current(), LINE);
+		}
+
+		/**
+		 * @return the zero based source column, or -1 if unknown
+		 */
+		public int getColumn() {
+			return get(current(), COLUMN);
+		}
+
+		/**
+		 * @return the character offset in the source, or -1 if unknown
+		 */
+		public long getPosition() {
+			return position(current());
+		}
+
+		/**
+		 * @return the current node and everything below it as new symbols, see {@link HCLArena#toSymbol(int)}
+		 */
+		public Symbol toSymbol() {
+			return materialize(current(), null);
+		}
+
+		/**
+		 * @return a new cursor at the same node
+		 */
+		public Cursor copy() {
+			Cursor copy = new Cursor();
+			copy.node = node;
+			return copy;
+		}
+
+		private int current() {
+			if(node == NONE) {
+				throw new IllegalStateException("The cursor is not positioned on a node");
+			}
+			return node;
+		}
+
+		private int label(int index) {
+			int current = current();
+			if(index < 0 || index >= get(current, LABEL_COUNT)) {
+				throw new IndexOutOfBoundsException("Block name " + index + " of " + get(current, LABEL_COUNT));
+			}
+			return get(current, LABELS) + index;
+		}
+
+		private boolean moveIfPresent(int target) {
+			if(target == NONE) {
+				return false;
+			}
+			node = target;
+			return true;
+		}
+	}
+
+	/**
+	 * Growable int storage in fixed size pages, so growing never copies and the size is not limited by the largest
+	 * possible array or buffer.
+	 */
+	static final class IntPages {
+		private static final int PAGE_BITS = 16;
+		private static final int PAGE_SIZE = 1 << PAGE_BITS;
+		private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+		private final boolean direct;
+		private IntBuffer[] pages = new IntBuffer[8];
+		private int pageCount;
+
+		IntPages(boolean direct) {
+			this.direct = direct;
+		}
+
+		int get(long index) {
+			return pages[(int) (index >>> PAGE_BITS)].get((int) index & PAGE_MASK);
+		}
+
+		void set(long index, int value) {
+			pages[(int) (index >>> PAGE_BITS)].put((int) index & PAGE_MASK, value);
+		}
+
+		void ensure(long size) {
+			while(((long) pageCount << PAGE_BITS) < size) {
+				if(pageCount == pages.length) {
+					pages = Arrays.copyOf(pages, pageCount * 2);
+				}
+				pages[pageCount++] = direct
+						? ByteBuffer.allocateDirect(PAGE_SIZE * 4).order(ByteOrder.nativeOrder()).asIntBuffer()
+						: IntBuffer.allocate(PAGE_SIZE);
+			}
+		}
+	}
+
+	/**
+	 * The char counterpart of {@link IntPages}.
+	 */
+	static final class CharPages {
+		private static final int PAGE_BITS = 16;
+		private static final int PAGE_SIZE = 1 << PAGE_BITS;
+		private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+		private final boolean direct;
+		private CharBuffer[] pages = new CharBuffer[8];
+		private int pageCount;
+
+		CharPages(boolean direct) {
+			this.direct = direct;
+		}
+
+		char get(long index) {
+			return pages[(int) (index >>> PAGE_BITS)].get((int) index & PAGE_MASK);
+		}
+
+		void set(long index, char value) {
+			pages[(int) (index >>> PAGE_BITS)].put((int) index & PAGE_MASK, value);
+		}
+
+		void ensure(long size) {
+			while(((long) pageCount << PAGE_BITS) < size) {
+				if(pageCount == pages.length) {
+					pages = Arrays.copyOf(pages, pageCount * 2);
+				}
+				pages[pageCount++] = direct
+						? ByteBuffer.allocateDirect(PAGE_SIZE * 2).order(ByteOrder.nativeOrder()).asCharBuffer()
+						: CharBuffer.allocate(PAGE_SIZE);
+			}
+		}
+	}
+
+	/**
+	 * Stores the characters of all strings back to back. Strings up to {@link #INTERN_LIMIT} characters (names,
+	 * labels and most values) are deduplicated through an open addressing table of string ids; longer strings are
+	 * rarely repeated and are appended without hashing them.
+	 */
+	static final class StringTable {
+		private static final int INTERN_LIMIT = 64;
+		private static final int START_HIGH = 0;
+		private static final int START_LOW = 1;
+		private static final int LENGTH = 2;
+		private static final int STRIDE = 3;
+
+		private final CharPages chars;
+		private final IntPages entries;
+		private long charCount;
+		private int count;
+		private int[] table = new int[1024];
+		private int interned;
+
+		StringTable(boolean direct) {
+			this.chars = new CharPages(direct);
+			this.entries = new IntPages(direct);
+		}
+
+		/**
+		 * @return the id of the string, {@link HCLArena#NONE} for null
+		 */
+		int add(String value) {
+			if(value == null) {
+				return NONE;
+			}
+			if(value.length() > INTERN_LIMIT) {
+				return append(value);
+			}
+			int mask = table.length - 1;
+			for(int slot = mix(value.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+				int id = table[slot] - 1;
+				if(id == NONE) {
+					id = append(value);
+					table[slot] = id + 1;
+					if(++interned * 2 > table.length) {
+						rehash();
+					}
+					return id;
+				} else if(equals(id, value)) {
+					return id;
+				}
+			}
+		}
+
+		String get(int id) {
+			if(id == NONE) {
+				return null;
+			}
+			long start = start(id);
+			char[] value = new char[length(id)];
+			for(int i = 0; i < value.length; i++) {
+				value[i] = chars.get(start + i);
+			}
+			return new String(value);
+		}
+
+		boolean equals(int id, String value) {
+			if(id == NONE || value == null) {
+				return id == NONE && value == null;
+			}
+			int length = length(id);
+			if(length != value.length()) {
+				return false;
+			}
+			long start = start(id);
+			for(int i = 0; i < length; i++) {
+				if(chars.get(start + i) != value.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int append(String value) {
+			int id = count++;
+			long entry = (long) id * STRIDE;
+			entries.ensure(entry + STRIDE);
+			entries.set(entry + START_HIGH, (int) (charCount >>> 32));
+			entries.set(entry + START_LOW, (int) charCount);
+			entries.set(entry + LENGTH, value.length());
+			chars.ensure(charCount + value.length());
+			for(int i = 0; i < value.length(); i++) {
+				chars.set(charCount + i, value.charAt(i));
+			}
+			charCount += value.length();
+			return id;
+		}
+
+		private long start(int id) {
+			long entry = (long) id * STRIDE;
+			return ((long) entries.get(entry + START_HIGH) << 32) | (entries.get(entry + START_LOW) & 0xffffffffL);
+		}
+
+		private int length(int id) {
+			return entries.get((long) id * STRIDE + LENGTH);
+		}
+
+		/**
+		 * Rehashes from the stored characters with {@link String#hashCode()}'s formula, so no string is recreated.
+		 */
+		private void rehash() {
+			int[] previous = table;
+			table = new int[previous.length * 2];
+			int mask = table.length - 1;
+			for(int entry : previous) {
+				if(entry != 0) {
+					int id = entry - 1;
+					long start = start(id);
+					int hash = 0;
+					for(int i = 0, length = length(id); i < length; i++) {
+						hash = 31 * hash + chars.get(start + i);
+					}
+					int slot = mix(hash) & mask;
+					while(table[slot] != 0) {
+						slot = (slot + 1) & mask;
+					}
+					table[slot] = entry;
+				}
+			}
+		}
+
+		private static int mix(int hash) {
+			hash *= 0x9e3779b9;
+			return hash ^ (hash >>> 16);
+		}
+	}
+}
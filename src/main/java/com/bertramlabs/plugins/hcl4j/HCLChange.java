@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+/**
+ * A single difference reported by {@link HCLDiff}. The original and revised symbols carry the source spans
+ * (line, column, position) of the change on either side; one of them is null for added or removed entries.
+ */
+public class HCLChange {
+
+	public enum Type {
+		ADDED, REMOVED, CHANGED
+	}
+
+	private final Type type;
+	private final String path;
+	private final Symbol original;
+	private final Symbol revised;
+
+	public HCLChange(Type type, String path, Symbol original, Symbol revised) {
+		this.type = type;
+		this.path = path;
+		this.original = original;
+		this.revised = revised;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return dotted path of the changed element, e.g. {@code resource.aws_instance.web.ami}
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the symbol in the original configuration, null if the element was added
+	 */
+	public Symbol getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return the symbol in the revised configuration, null if the element was removed
+	 */
+	public Symbol getRevised() {
+		return revised;
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder(type.name()).append(' ').append(path);
+		if(original != null && original.getLine() != null) {
+			result.append(" (original line ").append(original.getLine() + 1).append(')');
+		}
+		if(revised != null && revised.getLine() != null) {
+			result.append(" (revised line ").append(revised.getLine() + 1).append(')');
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLMap;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two parsed configurations and reports added, removed and changed blocks and attributes.
+ * Blocks are matched by their block names and labels, attributes by name. Subtrees with equal
+ * {@link HCLStructuralHash structural hashes} are skipped without being visited. At every level that contains a
+ * change, the leading and trailing children whose hashes are equal are skipped by position, and only the children in
+ * between are keyed and matched. Repeated blocks, like several {@code ingress} blocks, are told apart in change paths
+ * by a zero based occurrence index such as {@code ingress[1]}.
+ *
+ * <p>
+ *     Below is an example of comparing two configurations.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLParser parser = new HCLParser();
+ *     List<HCLChange> changes = new HCLDiff().diff(parser.parseConfiguration(planFile), parser.parseConfiguration(applyFile));
+ *     }
+ * </pre>
+ */
+public class HCLDiff {
+	private final HCLStructuralHash hashes;
+
+	public HCLDiff() {
+		this(new HCLStructuralHash());
+	}
+
+	/**
+	 * @param hashes hash cache to use, share one instance to avoid rehashing a configuration that is compared repeatedly
+	 */
+	public HCLDiff(HCLStructuralHash hashes) {
+		this.hashes = hashes;
+	}
+
+	public HCLStructuralHash getHashes() {
+		return hashes;
+	}
+
+	/**
+	 * Compares two configurations.
+	 * @param original the configuration before the change
+	 * @param revised the configuration after the change
+	 * @return all changes in document order of the original followed by additions of the revised configuration
+	 */
+	public List<HCLChange> diff(HCLConfiguration original, HCLConfiguration revised) {
+		List<HCLChange> changes = new ArrayList<>();
+		if(hashes.hash(original) != hashes.hash(revised)) {
+			diffChildren("", rootSymbols(original), rootSymbols(revised), changes);
+		}
+		return changes;
+	}
+
+	/**
+	 * Compares the contents of two blocks (or maps) that are already known to correspond to each other.
+	 * @param original the block before the change
+	 * @param revised the block after the change
+	 * @return all changes below the given blocks
+	 */
+	public List<HCLChange> diff(Symbol original, Symbol revised) {
+		List<HCLChange> changes = new ArrayList<>();
+		if(hashes.hash(original) != hashes.hash(revised)) {
+			diffChildren(pathOf("", original), original.getChildren(), revised.getChildren(), changes);
+		}
+		return changes;
+	}
+
+	private void diffChildren(String path, List<Symbol> original, List<Symbol> revised, List<HCLChange> changes) {
+		// skip the unchanged prefix and suffix, only the children in between are keyed and matched
+		int start = 0;
+		int originalEnd = original.size();
+		int revisedEnd = revised.size();
+		while(start < originalEnd && start < revisedEnd && hashes.hash(original.get(start)) == hashes.hash(revised.get(start))) {
+			start++;
+		}
+		while(originalEnd > start && revisedEnd > start
+			&& hashes.hash(original.get(originalEnd - 1)) == hashes.hash(revised.get(revisedEnd - 1))) {
+			originalEnd--;
+			revisedEnd--;
+		}
+		if(start == originalEnd && start == revisedEnd) {
+			return;
+		}
+
+		Map<String, Integer> revisedByKey = new HashMap<>();
+		List<String> revisedKeys = new ArrayList<>(revisedEnd - start);
+		indexChildren(revised, start, revisedEnd, revisedByKey, revisedKeys);
+		Map<String, Integer> originalByKey = new HashMap<>();
+		List<String> originalKeys = new ArrayList<>(originalEnd - start);
+		indexChildren(original, start, originalEnd, originalByKey, originalKeys);
+
+		for(String key : originalKeys) {
+			int index = originalByKey.get(key);
+			Integer revisedIndex = revisedByKey.get(key);
+			Symbol before = original.get(index);
+			if(revisedIndex == null) {
+				changes.add(new HCLChange(HCLChange.Type.REMOVED, pathOf(path, original, index, revised), before, null));
+			} else if(hashes.hash(before) != hashes.hash(revised.get(revisedIndex))) {
+				diffSymbol(pathOf(path, original, index, revised), before, revised.get(revisedIndex), changes);
+			}
+		}
+		for(String key : revisedKeys) {
+			if(!originalByKey.containsKey(key)) {
+				int index = revisedByKey.get(key);
+				changes.add(new HCLChange(HCLChange.Type.ADDED, pathOf(path, revised, index, original), null, revised.get(index)));
+			}
+		}
+	}
+
+	private void diffSymbol(String childPath, Symbol before, Symbol after, List<HCLChange> changes) {
+		if(before instanceof HCLBlock && after instanceof HCLBlock) {
+			diffChildren(childPath, before.getChildren(), after.getChildren(), changes);
+		} else if(before instanceof HCLAttribute && after instanceof HCLAttribute) {
+			Symbol beforeValue = before.getChildren().isEmpty() ? null : before.getChildren().get(0);
+			Symbol afterValue = after.getChildren().isEmpty() ? null : after.getChildren().get(0);
+			if(isObject(beforeValue) && isObject(afterValue) && before.getChildren().size() == 1 && after.getChildren().size() == 1) {
+				diffChildren(childPath, beforeValue.getChildren(), afterValue.getChildren(), changes);
+			} else {
+				changes.add(new HCLChange(HCLChange.Type.CHANGED, childPath, before, after));
+			}
+		} else {
+			changes.add(new HCLChange(HCLChange.Type.CHANGED, childPath, before, after));
+		}
+	}
+
+	private static boolean isObject(Symbol value) {
+		return value instanceof HCLMap || value instanceof HCLBlock;
+	}
+
+	/**
+	 * Keys the children between {@code from} and {@code to} by identity (kind plus block names or attribute name) and
+	 * maps each key to the index of its child. Repeated keys, like several {@code ingress} blocks, are numbered in
+	 * document order. Both sides share the skipped prefix, so numbering from {@code from} pairs the same occurrences.
+	 */
+	private static void indexChildren(List<Symbol> children, int from, int to, Map<String, Integer> byKey, List<String> keys) {
+		Map<String, Integer> occurrences = null;
+		for(int i = from; i < to; i++) {
+			String key = keyOf(children.get(i));
+			if(byKey.containsKey(key)) {
+				if(occurrences == null) {
+					occurrences = new HashMap<>();
+				}
+				Integer occurrence = occurrences.get(key);
+				occurrence = occurrence == null ? 1 : occurrence + 1;
+				occurrences.put(key, occurrence);
+				key = key + "#" + occurrence;
+			}
+			byKey.put(key, i);
+			keys.add(key);
+		}
+	}
+
+	/**
+	 * Builds the path of a child. If its key is repeated among its siblings (on either side of the diff), the path
+	 * ends in the zero based occurrence index, e.g. {@code resource.aws_security_group.sg.ingress[1]}.
+	 */
+	private static String pathOf(String parent, List<Symbol> siblings, int index, List<Symbol> otherSiblings) {
+		Symbol symbol = siblings.get(index);
+		int occurrence = 0;
+		int count = 0;
+		for(int i = 0; i < siblings.size(); i++) {
+			if(sameKey(symbol, siblings.get(i))) {
+				count++;
+				if(i < index) {
+					occurrence++;
+				}
+			}
+		}
+		String path = pathOf(parent, symbol);
+		if(count < 2) {
+			int otherCount = 0;
+			for(Symbol other : otherSiblings) {
+				if(sameKey(symbol, other) && ++otherCount > 1) {
+					break;
+				}
+			}
+			if(otherCount < 2) {
+				return path;
+			}
+		}
+		return path + "[" + occurrence + "]";
+	}
+
+	private static boolean sameKey(Symbol symbol, Symbol other) {
+		if(symbol instanceof HCLBlock || other instanceof HCLBlock) {
+			return symbol instanceof HCLBlock && other instanceof HCLBlock
+				&& ((HCLBlock) symbol).blockNames.equals(((HCLBlock) other).blockNames);
+		}
+		return symbol.getSymbolName().equals(other.getSymbolName())
+			&& (symbol.getName() == null ? other.getName() == null : symbol.getName().equals(other.getName()));
+	}
+
+	private static String keyOf(Symbol symbol) {
+		if(symbol instanceof HCLBlock) {
+			StringBuilder key = new StringBuilder("block");
+			for(String blockName : ((HCLBlock) symbol).blockNames) {
+				key.append('\u0000').append(blockName);
+			}
+			return key.toString();
+		}
+		return symbol.getSymbolName() + '\u0000' + symbol.getName();
+	}
+
+	private static List<Symbol> rootSymbols(HCLConfiguration configuration) {
+		List<Symbol> symbols = new ArrayList<>(configuration.getAttributes().size() + configuration.getBlocks().size());
+		symbols.addAll(configuration.getAttributes());
+		symbols.addAll(configuration.getBlocks());
+		return symbols;
+	}
+
+	private static String pathOf(String parent, Symbol symbol) {
+		StringBuilder path = new StringBuilder(parent);
+		if(symbol instanceof HCLBlock) {
+			for(String blockName : ((HCLBlock) symbol).blockNames) {
+				if(path.length() > 0) {
+					path.append('.');
+				}
+				path.append(blockName);
+			}
+		} else {
+			if(path.length() > 0) {
+				path.append('.');
+			}
+			path.append(symbol.getName());
+		}
+		return path.toString();
+	}
+}
@@ -16,6 +16,7 @@
 package com.bertramlabs.plugins.hcl4j;
 
 import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.EvalSymbol;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.ForExpression;
 import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.PrimitiveType;
 import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.Variable;
 import com.bertramlabs.plugins.hcl4j.symbols.HCLArray;
@@ -25,6 +26,7 @@ import com.bertramlabs.plugins.hcl4j.symbols.HCLMap;
 import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
 import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
 
+import java.io.CharArrayReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -36,6 +38,7 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,12 +62,28 @@ import java.util.Map;
  * @author David Estes
  */
 public class HCLParser {
-
+	private boolean compactResults;
 
 	public HCLParser() {
 		// TODO document why this constructor is empty
 	}
 
+	public boolean isCompactResults() {
+		return compactResults;
+	}
+
+	/**
+	 * Makes {@link #parse} and {@link #parseTfvars} return compact immutable maps and lists. They keep the insertion
+	 * order and equal the default results, but store keys and values in plain arrays (with a hash index only for
+	 * larger maps), which takes a fraction of the memory of {@link LinkedHashMap}. They can be shared between threads
+	 * and caches, and throw {@link UnsupportedOperationException} on modification.
+	 * @param compactResults true for compact immutable results, false (the default) for {@link LinkedHashMap}s and
+	 * {@link ArrayList}s
+	 */
+	public void setCompactResults(boolean compactResults) {
+		this.compactResults = compactResults;
+	}
+
 	/**
 	 * Parses terraform configuration language from a String
 	 * @param input String input containing HCL syntax
@@ -253,13 +272,92 @@ public class HCLParser {
 		List<Symbol> rootBlocks = getRootBlocks(reader, ignoreParserExceptions);
 
 		//Time to parse the AST Tree into a Map
-		Map<String,Object> result = new LinkedHashMap<>();
+		Map<String,Object> result = newMap();
 
 		for(Symbol currentElement : rootBlocks) {
 			processSymbol(currentElement, result);
 
 		}
-		return result;
+		return compactResults ? CompactMap.freeze(result) : result;
+	}
+
+	/**
+	 * Parses a flat {@code .tfvars} file of root level attributes from a String. The result is identical to
+	 * {@link #parse(String)}, but common input is read straight into the result map by a dedicated single pass parser
+	 * instead of the lexer. Input using anything beyond plain values, arrays and nested objects (blocks, references,
+	 * expressions, ...) is handed to the general parser.
+	 * @param input String input containing HCL syntax
+	 * @return Mapped result of the attributes (values of keys can be variable).
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public Map<String,Object> parseTfvars(String input) throws HCLParserException, IOException {
+		return parseTfvars(input.toCharArray(), input.length());
+	}
+
+	/**
+	 * Parses a flat {@code .tfvars} file encoded as UTF-8, see {@link #parseTfvars(String)}.
+	 * @param input File input containing HCL syntax
+	 * @return Mapped result of the attributes (values of keys can be variable).
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public Map<String,Object> parseTfvars(File input) throws HCLParserException, IOException {
+		return parseTfvars(input, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses a flat {@code .tfvars} file, see {@link #parseTfvars(String)}.
+	 * @param input File input containing HCL syntax
+	 * @param cs the Charset of the file
+	 * @return Mapped result of the attributes (values of keys can be variable).
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public Map<String,Object> parseTfvars(File input, Charset cs) throws HCLParserException, IOException {
+		try (InputStream is = new FileInputStream(input)) {
+			return parseTfvars(is, cs);
+		}
+	}
+
+	/**
+	 * Parses a flat {@code .tfvars} file from an InputStream, see {@link #parseTfvars(String)}.
+	 * @param input InputStream input containing HCL syntax
+	 * @param cs the Charset of the stream, null for UTF-8
+	 * @return Mapped result of the attributes (values of keys can be variable).
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public Map<String,Object> parseTfvars(InputStream input, Charset cs) throws HCLParserException, IOException {
+		return parseTfvars(new InputStreamReader(input, cs != null ? cs : StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a flat {@code .tfvars} file from a Reader, see {@link #parseTfvars(String)}.
+	 * @param reader A reader object used for absorbing various streams or String variables containing the hcl code
+	 * @return Mapped result of the attributes (values of keys can be variable).
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public Map<String,Object> parseTfvars(Reader reader) throws HCLParserException, IOException {
+		char[] buffer = new char[8192];
+		int length = 0;
+		int read;
+		while((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+			length += read;
+			if(length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+		return parseTfvars(buffer, length);
+	}
+
+	private Map<String,Object> parseTfvars(char[] input, int length) throws HCLParserException, IOException {
+		Map<String,Object> result = new TfvarsParser(input, length).parse();
+		if(result == null) {
+			return parse(new CharArrayReader(input, 0, length));
+		}
+		return compactResults ? CompactMap.freeze(result) : result;
 	}
 
 	public HCLConfiguration parseConfiguration(File input) throws HCLParserException, IOException {
@@ -306,6 +404,65 @@ public class HCLParser {
 		return new HCLConfiguration(blocks, attributes);
 	}
 
+	/**
+	 * Parses HCL into an {@link HCLArena}, a flat representation for very large configurations, see
+	 * {@link #parseArena(Reader, boolean)}.
+	 * @param input the file to parse, read as UTF-8
+	 * @return the parsed arena
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public HCLArena parseArena(File input) throws HCLParserException, IOException {
+		try (Reader reader = new InputStreamReader(new FileInputStream(input), StandardCharsets.UTF_8)) {
+			return parseArena(reader, false);
+		}
+	}
+
+	public HCLArena parseArena(Reader reader) throws HCLParserException, IOException {
+		return parseArena(reader, false);
+	}
+
+	/**
+	 * Parses HCL into an {@link HCLArena}. Each root block or attribute is copied into the arena as soon as the lexer
+	 * completes it, so the full symbol tree is never built.
+	 * @param reader A reader object used for absorbing various streams or String variables containing the hcl code
+	 * @param direct true to keep the arena outside of the Java heap
+	 * @return the parsed arena
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid,
+	 *                            including root symbols that are neither blocks nor attributes.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public HCLArena parseArena(Reader reader, boolean direct) throws HCLParserException, IOException {
+		return parseArena(reader, direct, false);
+	}
+
+	/**
+	 * Parses HCL into an {@link HCLArena}, see {@link #parseArena(Reader, boolean)}.
+	 * @param reader A reader object used for absorbing various streams or String variables containing the hcl code
+	 * @param direct true to keep the arena outside of the Java heap
+	 * @param ignoreParserExceptions if set to true, we ignore any parse exceptions and still return the arena of what
+	 *                               was parsed, root symbols other than blocks and attributes are left out
+	 * @return the parsed arena
+	 * @throws HCLParserException Any type of parsing errors are returned as this exception if the syntax is invalid.
+	 * @throws IOException In the event the reader is unable to pull from the input source this exception is thrown.
+	 */
+	public HCLArena parseArena(Reader reader, boolean direct, Boolean ignoreParserExceptions) throws HCLParserException, IOException {
+		HCLArena arena = new HCLArena(direct);
+		HCLLexer lexer = new HCLLexer(reader);
+		lexer.rootSymbolHandler = arena.new Builder(ignoreParserExceptions);
+		if(ignoreParserExceptions) {
+			try {
+				lexer.yylex();
+			} catch(Exception ex) {
+				//TODO: Log the exception
+			}
+		} else {
+			lexer.yylex();
+		}
+		lexer.flushRootSymbol();
+		return arena;
+	}
+
 	private List<Symbol> getRootBlocks(Reader reader, boolean ignoreParserExceptions) throws IOException,
 			HCLParserException {
 		HCLLexer lexer = new HCLLexer(reader);
@@ -336,7 +493,7 @@ public class HCLParser {
 				if(mapPosition.containsKey(blockName)) {
 					if(counter == block.blockNames.size() - 1 && mapPosition.get(blockName) instanceof Map) {
 						List<Map<String,Object>> objectList = new ArrayList<>();
-						Map<String,Object> addedObject = new LinkedHashMap<>();
+						Map<String,Object> addedObject = newMap();
 						objectList.add((Map<String, Object>)mapPosition.get(blockName));
 						objectList.add(addedObject);
 						mapPosition.put(blockName,objectList);
@@ -344,7 +501,7 @@ public class HCLParser {
 					} else if(mapPosition.get(blockName) instanceof Map) {
 						mapPosition = (Map<String,Object>) mapPosition.get(blockName);
 					} else if(counter == block.blockNames.size() - 1 && mapPosition.get(blockName) instanceof List) {
-						Map<String,Object> addedObject = new LinkedHashMap<>();
+						Map<String,Object> addedObject = newMap();
 						((List<Map<String,Object>>)mapPosition.get(blockName)).add(addedObject);
 						mapPosition = addedObject;
 					} else {
@@ -355,8 +512,9 @@ public class HCLParser {
 						}
 					}
 				} else {
-					mapPosition.put(blockName,new LinkedHashMap<String,Object>());
-					mapPosition = (Map<String,Object>) mapPosition.get(blockName);
+					Map<String,Object> addedObject = newMap();
+					mapPosition.put(blockName,addedObject);
+					mapPosition = addedObject;
 				}
 			}
 			if(symbol.getChildren() != null) {
@@ -366,7 +524,7 @@ public class HCLParser {
 			}
 			return mapPosition;
 		} else if(symbol instanceof HCLMap) {
-			Map<String,Object> nestedMap = new LinkedHashMap<>();
+			Map<String,Object> nestedMap = newMap();
 			if(symbol.getChildren() != null) {
 				for(Symbol child : symbol.getChildren()) {
 					processSymbol(child, nestedMap);
@@ -375,11 +533,9 @@ public class HCLParser {
 			return nestedMap;
 		} else if(symbol instanceof HCLArray) {
 			if(symbol.getChildren() != null) {
-				List<Object> objectList = new ArrayList<>();
+				List<Object> objectList = new ArrayList<>(symbol.getChildren().size());
 				for(Symbol child : symbol.getChildren()) {
-					Map<String,Object> nestedMap = new LinkedHashMap<>();
-					Object result = processSymbol(child,nestedMap);
-					objectList.add(result);
+					objectList.add(processValueSymbol(child));
 				}
 				return objectList;
 			} else {
@@ -392,9 +548,8 @@ public class HCLParser {
 		} else if(symbol instanceof EvalSymbol) {
 			return processEvaluation((EvalSymbol) symbol);
 		} else if(symbol instanceof HCLAttribute) {
-			Map<String,Object> nestedMap = new LinkedHashMap<>();
 			if(symbol.getChildren().size() > 0) {
-				Object results = processSymbol(symbol.getChildren().get(0),nestedMap);
+				Object results = processValueSymbol(symbol.getChildren().get(0));
 				mapPosition.put(symbol.getName(),results);
 			} else {
 				mapPosition.put(symbol.getName(),null);
@@ -406,6 +561,21 @@ public class HCLParser {
 	}
 
 
+	/**
+	 * Processes an attribute value or array element. Only blocks and attributes are written into the map they are
+	 * processed with, so a map is only created for those.
+	 */
+	private Object processValueSymbol(Symbol symbol) throws HCLParserException {
+		if(symbol instanceof HCLBlock || symbol instanceof HCLAttribute) {
+			return processSymbol(symbol, newMap());
+		}
+		return processSymbol(symbol, null);
+	}
+
+	private Map<String,Object> newMap() {
+		return compactResults ? new CompactMap.Builder() : new LinkedHashMap<String,Object>();
+	}
+
 	protected Object processValue(HCLValue value) throws HCLParserException {
 		if(value.getType().equals("string")) {
 			return value.getValue();
@@ -429,8 +599,12 @@ public class HCLParser {
 	}
 
 
+	/**
+	 * Variables and for-expressions are returned as their symbols. A for-expression can be evaluated later, against
+	 * any number of variable bindings, via {@link ForExpression#evaluate}.
+	 */
 	protected Object processEvaluation(EvalSymbol evalSymbol) {
-		if(evalSymbol instanceof Variable) {
+		if(evalSymbol instanceof Variable || evalSymbol instanceof ForExpression) {
 			return evalSymbol;
 		} else {
 			return null;
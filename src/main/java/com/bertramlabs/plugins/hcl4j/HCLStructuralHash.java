@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SubTypePrimitiveType;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes stable 64 bit content hashes for parsed symbols. Hashes are built bottom up (Merkle style): the hash of a
+ * block, attribute, map or array is derived from its own kind and name plus the hashes of its children in order.
+ * Whitespace, comments and source positions never reach the symbol tree and therefore do not influence the hash.
+ *
+ * <p>
+ *     Hashes are cached per symbol instance for the lifetime of this object, so reusing one instance across several
+ *     {@link HCLDiff} runs against the same configuration only hashes it once. The cache is never evicted and holds
+ *     every hashed symbol strongly: use a fresh instance (or {@link #clear()}) once a configuration is no longer
+ *     compared. Instances are not thread-safe; share one between threads only with external synchronization.
+ * </p>
+ */
+public class HCLStructuralHash {
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+	private final Map<Symbol, Long> cache = new IdentityHashMap<>();
+
+	/**
+	 * Drops all cached hashes, releasing the symbols they were computed for.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Hashes all root attributes and blocks of a configuration.
+	 * @param configuration the parsed configuration
+	 * @return the combined hash of the configuration
+	 */
+	public long hash(HCLConfiguration configuration) {
+		long hash = string(FNV_OFFSET, "Configuration");
+		for(HCLAttribute attribute : configuration.getAttributes()) {
+			hash = combine(hash, hash(attribute));
+		}
+		for(HCLBlock block : configuration.getBlocks()) {
+			hash = combine(hash, hash(block));
+		}
+		return hash;
+	}
+
+	/**
+	 * Hashes a symbol and all of its children.
+	 * @param symbol the symbol to hash, may be null
+	 * @return the structural hash of the symbol
+	 */
+	public long hash(Symbol symbol) {
+		if(symbol == null) {
+			return NULL_HASH;
+		}
+		Long cached = cache.get(symbol);
+		if(cached != null) {
+			return cached;
+		}
+		long hash = string(FNV_OFFSET, symbol.getSymbolName());
+		if(symbol instanceof HCLBlock) {
+			List<String> blockNames = ((HCLBlock) symbol).blockNames;
+			for(String blockName : blockNames) {
+				hash = string(hash, blockName);
+			}
+		} else if(symbol instanceof HCLValue) {
+			HCLValue value = (HCLValue) symbol;
+			hash = string(hash, value.getType());
+			hash = string(hash, value.getValue() == null ? null : value.getValue().toString());
+		} else {
+			hash = string(hash, symbol.getName());
+			if(symbol instanceof SubTypePrimitiveType) {
+				hash = combine(hash, hash(((SubTypePrimitiveType) symbol).subType));
+			}
+		}
+		if(symbol.getChildren() != null) {
+			for(Symbol child : symbol.getChildren()) {
+				hash = combine(hash, hash(child));
+			}
+		}
+		hash = mix(hash);
+		cache.put(symbol, hash);
+		return hash;
+	}
+
+	private static long string(long hash, String value) {
+		if(value == null) {
+			return combine(hash, NULL_HASH);
+		}
+		// FNV-1a over the chars, terminated by the length so "ab","c" and "a","bc" differ
+		for(int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= FNV_PRIME;
+		}
+		hash ^= value.length();
+		return hash * FNV_PRIME;
+	}
+
+	private static long combine(long hash, long value) {
+		return mix(hash * 31 + value);
+	}
+
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb93fe53e4cd9L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,598 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import java.util.Arrays;
+
+/**
+ * Splits HCL text into tokens (kind, start offset and length) without building symbols, for syntax highlighting and
+ * indexing. Tokens are read one at a time through this object acting as a reusable cursor ({@link #next()}), or in
+ * bulk into an {@code int[]} ({@link #read(int[], int, int)}); neither creates objects per token. Whitespace and line
+ * breaks are skipped and no token spans a line break, so a comment or heredoc over several lines yields one token
+ * per line.
+ *
+ * <p>
+ *     Tokenizing can be restarted at any line boundary: {@link #getState()} captures what is open at the end of the
+ *     range (block comments, strings, heredocs and template interpolations) and {@link #reset(CharSequence, int, int, State)}
+ *     resumes from it. An editor can store the state of every line and re-tokenize only changed lines, stopping as
+ *     soon as the state at the end of a line equals the stored one.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLTokenizer tokenizer = new HCLTokenizer();
+ *     tokenizer.reset(text, lineStart, lineEnd, stateOfPreviousLine);
+ *     while(tokenizer.next()) {
+ *         highlight(tokenizer.getKind(), tokenizer.getStart(), tokenizer.getLength());
+ *     }
+ *     HCLTokenizer.State stateOfThisLine = tokenizer.getState();
+ *     }
+ * </pre>
+ */
+public final class HCLTokenizer {
+	/** {@code # ...}, {@code // ...} or (one line of) {@code /* ... *}{@code /} */
+	public static final int COMMENT = 0;
+	public static final int IDENTIFIER = 1;
+	/** {@code true}, {@code false}, {@code null} and the keywords of for-expressions and template directives */
+	public static final int KEYWORD = 2;
+	public static final int NUMBER = 3;
+	/** literal text of a quoted string, including its quotes, or of one heredoc line */
+	public static final int STRING = 4;
+	/** {@code <<MARKER} or {@code <<-MARKER} */
+	public static final int HEREDOC_START = 5;
+	/** the closing marker of a heredoc */
+	public static final int HEREDOC_END = 6;
+	/** {@code ${} or {@code %{}, optionally followed by {@code ~} */
+	public static final int TEMPLATE_START = 7;
+	/** the {@code }} closing an interpolation or directive, optionally preceded by {@code ~} */
+	public static final int TEMPLATE_END = 8;
+	public static final int OPERATOR = 9;
+	/** {@code { } [ ] ( )} */
+	public static final int BRACKET = 10;
+	/** {@code ,} and {@code .} */
+	public static final int PUNCTUATION = 11;
+	/** any character that can not start a token */
+	public static final int INVALID = 12;
+
+	/**
+	 * Number of ints written per token by {@link #read(int[], int, int)}: kind, start and length.
+	 */
+	public static final int STRIDE = 3;
+
+	private static final String[] KIND_NAMES = {"COMMENT", "IDENTIFIER", "KEYWORD", "NUMBER", "STRING", "HEREDOC_START",
+		"HEREDOC_END", "TEMPLATE_START", "TEMPLATE_END", "OPERATOR", "BRACKET", "PUNCTUATION", "INVALID"};
+	private static final String[] KEYWORDS = {"true", "false", "null", "for", "in", "if", "else", "endif", "endfor"};
+
+	private static final int QUOTED = 1;
+	private static final int HEREDOC = 2;
+	private static final int TEMPLATE = 3;
+	private static final int FRAME_MASK = 3;
+	private static final int BRACE = 4;
+
+	private CharSequence text;
+	private int position;
+	private int end;
+	private int[] frames = new int[8];
+	// heredoc markers of frames restored from a State; markers found while scanning are kept as offsets into the text
+	private String[] markers = new String[8];
+	private int[] markerStarts = new int[8];
+	private int[] markerLengths = new int[8];
+	private int depth;
+	private boolean blockComment;
+	private boolean lineStart;
+	private int pendingMarkerStart = -1;
+	private int pendingMarkerLength;
+
+	private int kind;
+	private int start;
+	private int length;
+
+	public static String kindName(int kind) {
+		return KIND_NAMES[kind];
+	}
+
+	/**
+	 * Starts tokenizing a complete text.
+	 */
+	public void reset(CharSequence text) {
+		reset(text, 0, text.length(), State.INITIAL);
+	}
+
+	/**
+	 * Starts tokenizing a range of a text. Token offsets are relative to the start of the text, not the range.
+	 * @param text the text
+	 * @param start the start of the range, the start of a line
+	 * @param end the end of the range, the start of a line or the end of the text
+	 * @param state the state at the end of the preceding line, {@link State#INITIAL} at the start of the text
+	 */
+	public void reset(CharSequence text, int start, int end, State state) {
+		if(start < 0 || end > text.length() || start > end) {
+			throw new IndexOutOfBoundsException("Range " + start + "-" + end + " of " + text.length() + " chars");
+		}
+		this.text = text;
+		this.position = start;
+		this.end = end;
+		this.depth = 0;
+		for(int i = 0; i < state.frames.length; i++) {
+			push(state.frames[i], state.markers[i]);
+		}
+		this.blockComment = state.blockComment;
+		this.lineStart = true;
+		this.pendingMarkerStart = -1;
+		this.kind = -1;
+		this.start = start;
+		this.length = 0;
+	}
+
+	/**
+	 * Advances to the next token.
+	 * @return false at the end of the range
+	 */
+	public boolean next() {
+		while(position < end) {
+			char c = text.charAt(position);
+			if(c == '\n') {
+				newLine();
+			} else if(c == '\r') {
+				position++;
+			} else if(blockComment) {
+				return blockComment(position, position);
+			} else {
+				int frame = depth == 0 ? 0 : frames[depth - 1] & FRAME_MASK;
+				if(frame == QUOTED) {
+					return quoted(position);
+				} else if(frame == HEREDOC) {
+					return heredoc();
+				} else if(expression(c)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the following tokens into a buffer, {@link #STRIDE} ints (kind, start, length) per token.
+	 * @return the number of tokens read, less than {@code maxTokens} only at the end of the range
+	 */
+	public int read(int[] tokens, int offset, int maxTokens) {
+		int count = 0;
+		while(count < maxTokens && next()) {
+			int index = offset + count * STRIDE;
+			tokens[index] = kind;
+			tokens[index + 1] = start;
+			tokens[index + 2] = length;
+			count++;
+		}
+		return count;
+	}
+
+	public int getKind() {
+		return kind;
+	}
+
+	public int getStart() {
+		return start;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getEnd() {
+		return start + length;
+	}
+
+	/**
+	 * Captures what is open at the current position. Call it once {@link #next()} returned false for a range that
+	 * ends at a line boundary; that is the state to resume the following line with.
+	 * @return the state, shared constants unless a string, heredoc or interpolation is open
+	 */
+	public State getState() {
+		if(depth == 0) {
+			return blockComment ? State.BLOCK_COMMENT : State.INITIAL;
+		}
+		String[] stateMarkers = Arrays.copyOf(markers, depth);
+		for(int i = 0; i < depth; i++) {
+			if((frames[i] & FRAME_MASK) == HEREDOC && stateMarkers[i] == null) {
+				stateMarkers[i] = text.subSequence(markerStarts[i], markerStarts[i] + markerLengths[i]).toString();
+			}
+		}
+		return new State(Arrays.copyOf(frames, depth), stateMarkers, blockComment);
+	}
+
+	private void newLine() {
+		position++;
+		if(depth > 0 && (frames[depth - 1] & FRAME_MASK) == QUOTED) {
+			// quoted strings end at the line, an unterminated one is not continued
+			depth--;
+		}
+		if(pendingMarkerStart >= 0) {
+			push(HEREDOC, null);
+			markerStarts[depth - 1] = pendingMarkerStart;
+			markerLengths[depth - 1] = pendingMarkerLength;
+			pendingMarkerStart = -1;
+		}
+		lineStart = true;
+	}
+
+	private boolean expression(char c) {
+		int from = position;
+		char next = from + 1 < end ? text.charAt(from + 1) : '\0';
+		if(c == ' ' || c == '\t' || c == '\f') {
+			position++;
+			return false;
+		} else if(c == '#' || (c == '/' && next == '/')) {
+			return emit(COMMENT, from, lineEnd(from));
+		} else if(c == '/' && next == '*') {
+			blockComment = true;
+			return blockComment(from, from + 2);
+		} else if(c == '"') {
+			push(QUOTED, null);
+			position = from + 1;
+			return quoted(from);
+		} else if(c == '<' && next == '<' && heredocStart(from)) {
+			return true;
+		} else if(isIdentifierStart(c)) {
+			int to = from + 1;
+			while(to < end && isIdentifierPart(text.charAt(to))) {
+				to++;
+			}
+			return emit(isKeyword(from, to) ? KEYWORD : IDENTIFIER, from, to);
+		} else if(c >= '0' && c <= '9') {
+			return emit(NUMBER, from, number(from));
+		}
+
+		int frame = depth == 0 ? 0 : frames[depth - 1];
+		boolean template = (frame & FRAME_MASK) == TEMPLATE;
+		switch(c) {
+			case '{':
+				if(template) {
+					frames[depth - 1] += BRACE;
+				}
+				return emit(BRACKET, from, from + 1);
+			case '}':
+				if(template && frame < BRACE) {
+					depth--;
+					return emit(TEMPLATE_END, from, from + 1);
+				} else if(template) {
+					frames[depth - 1] -= BRACE;
+				}
+				return emit(BRACKET, from, from + 1);
+			case '~':
+				if(template && frame < BRACE && next == '}') {
+					depth--;
+					return emit(TEMPLATE_END, from, from + 2);
+				}
+				return emit(INVALID, from, from + 1);
+			case '[':
+			case ']':
+			case '(':
+			case ')':
+				return emit(BRACKET, from, from + 1);
+			case '.':
+				if(next == '.' && from + 2 < end && text.charAt(from + 2) == '.') {
+					return emit(OPERATOR, from, from + 3);
+				}
+				return emit(PUNCTUATION, from, from + 1);
+			case ',':
+				return emit(PUNCTUATION, from, from + 1);
+			case '=':
+			case '!':
+			case '<':
+			case '>':
+				return emit(OPERATOR, from, from + (next == '=' || (c == '=' && next == '>') ? 2 : 1));
+			case '&':
+			case '|':
+				return emit(OPERATOR, from, from + (next == c ? 2 : 1));
+			case '+':
+			case '-':
+			case '*':
+			case '/':
+			case '%':
+			case '?':
+			case ':':
+				return emit(OPERATOR, from, from + 1);
+			default:
+				return emit(INVALID, from, from + 1);
+		}
+	}
+
+	/**
+	 * Emits the part of a block comment up to its end or the end of the line.
+	 * @param from the start of the token
+	 * @param to where to look for the end, behind the opening {@code /*} when the comment starts here
+	 */
+	private boolean blockComment(int from, int to) {
+		while(to < end) {
+			char c = text.charAt(to);
+			if(c == '\n' || c == '\r') {
+				break;
+			} else if(c == '*' && to + 1 < end && text.charAt(to + 1) == '/') {
+				to += 2;
+				blockComment = false;
+				break;
+			}
+			to++;
+		}
+		return emit(COMMENT, from, to);
+	}
+
+	/**
+	 * Emits literal text of a quoted string up to the closing quote, the next interpolation or the end of the line.
+	 * @param from the start of the token, the opening quote when the string was just entered
+	 */
+	private boolean quoted(int from) {
+		int to = position;
+		while(to < end) {
+			char c = text.charAt(to);
+			if(c == '\n' || c == '\r') {
+				break;
+			} else if(c == '\\') {
+				to += to + 1 < end && text.charAt(to + 1) != '\n' ? 2 : 1;
+			} else if(c == '"') {
+				to++;
+				depth--;
+				break;
+			} else if(c == '$' || c == '%') {
+				int skip = templateEscape(to, c);
+				if(skip == 0) {
+					break;
+				}
+				to += skip;
+			} else {
+				to++;
+			}
+		}
+		if(to > from) {
+			return emit(STRING, from, to);
+		}
+		return templateStart(from);
+	}
+
+	/**
+	 * Emits the closing marker at the start of a line, or the literal text of a heredoc line up to the next
+	 * interpolation or the end of the line.
+	 */
+	private boolean heredoc() {
+		int from = position;
+		if(lineStart) {
+			int marker = from;
+			while(marker < end && (text.charAt(marker) == ' ' || text.charAt(marker) == '\t')) {
+				marker++;
+			}
+			String closing = markers[depth - 1];
+			int to = marker + (closing != null ? closing.length() : markerLengths[depth - 1]);
+			if(to <= end && (closing != null ? regionMatches(marker, closing) : regionMatches(marker, markerStarts[depth - 1], to - marker))
+					&& (to == end || text.charAt(to) == '\n' || text.charAt(to) == '\r')) {
+				depth--;
+				return emit(HEREDOC_END, marker, to);
+			}
+		}
+		int to = from;
+		while(to < end) {
+			char c = text.charAt(to);
+			if(c == '\n' || c == '\r') {
+				break;
+			} else if(c == '$' || c == '%') {
+				int skip = templateEscape(to, c);
+				if(skip == 0) {
+					break;
+				}
+				to += skip;
+			} else {
+				to++;
+			}
+		}
+		if(to > from) {
+			return emit(STRING, from, to);
+		}
+		return templateStart(from);
+	}
+
+	/**
+	 * @return 0 if an interpolation or directive starts at the given offset, otherwise the number of literal chars
+	 * ({@code $${} and {@code %%{} are escapes)
+	 */
+	private int templateEscape(int at, char c) {
+		char next = at + 1 < end ? text.charAt(at + 1) : '\0';
+		if(next == '{') {
+			return 0;
+		} else if(next == c && at + 2 < end && text.charAt(at + 2) == '{') {
+			return 3;
+		}
+		return 1;
+	}
+
+	private boolean templateStart(int from) {
+		int to = from + 2;
+		if(to < end && text.charAt(to) == '~') {
+			to++;
+		}
+		push(TEMPLATE, null);
+		return emit(TEMPLATE_START, from, to);
+	}
+
+	private boolean heredocStart(int from) {
+		int marker = from + 2;
+		if(marker < end && text.charAt(marker) == '-') {
+			marker++;
+		}
+		if(marker >= end || !isIdentifierStart(text.charAt(marker))) {
+			return false;
+		}
+		int to = marker + 1;
+		while(to < end && isIdentifierPart(text.charAt(to))) {
+			to++;
+		}
+		pendingMarkerStart = marker;
+		pendingMarkerLength = to - marker;
+		return emit(HEREDOC_START, from, to);
+	}
+
+	private int number(int from) {
+		int to = digits(from);
+		if(to + 1 < end && text.charAt(to) == '.' && isDigit(text.charAt(to + 1))) {
+			to = digits(to + 1);
+		}
+		if(to < end && (text.charAt(to) == 'e' || text.charAt(to) == 'E')) {
+			int exponent = to + 1;
+			if(exponent < end && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+				exponent++;
+			}
+			if(exponent < end && isDigit(text.charAt(exponent))) {
+				to = digits(exponent);
+			}
+		}
+		return to;
+	}
+
+	private int digits(int from) {
+		int to = from;
+		while(to < end && isDigit(text.charAt(to))) {
+			to++;
+		}
+		return to;
+	}
+
+	private int lineEnd(int from) {
+		int to = from;
+		while(to < end && text.charAt(to) != '\n' && text.charAt(to) != '\r') {
+			to++;
+		}
+		return to;
+	}
+
+	private boolean isKeyword(int from, int to) {
+		for(String keyword : KEYWORDS) {
+			if(keyword.length() == to - from && regionMatches(from, keyword)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean regionMatches(int from, String value) {
+		for(int i = 0; i < value.length(); i++) {
+			if(text.charAt(from + i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean regionMatches(int from, int other, int length) {
+		for(int i = 0; i < length; i++) {
+			if(text.charAt(from + i) != text.charAt(other + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || (c > 127 && Character.isLetter(c));
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return isIdentifierStart(c) || isDigit(c) || c == '-' || (c > 127 && Character.isLetterOrDigit(c));
+	}
+
+	private void push(int frame, String marker) {
+		if(depth == frames.length) {
+			frames = Arrays.copyOf(frames, depth * 2);
+			markers = Arrays.copyOf(markers, depth * 2);
+			markerStarts = Arrays.copyOf(markerStarts, depth * 2);
+			markerLengths = Arrays.copyOf(markerLengths, depth * 2);
+		}
+		frames[depth] = frame;
+		markers[depth] = marker;
+		depth++;
+	}
+
+	private boolean emit(int kind, int from, int to) {
+		this.kind = kind;
+		this.start = from;
+		this.length = to - from;
+		position = to;
+		lineStart = false;
+		return true;
+	}
+
+	/**
+	 * What is open at a line boundary: a block comment, and the stack of quoted strings, heredocs (with their
+	 * markers) and template interpolations. States are immutable and compare by value.
+	 */
+	public static final class State {
+		/** nothing open, the state at the start of a text */
+		public static final State INITIAL = new State(new int[0], new String[0], false);
+		static final State BLOCK_COMMENT = new State(new int[0], new String[0], true);
+
+		private final int[] frames;
+		private final String[] markers;
+		private final boolean blockComment;
+
+		private State(int[] frames, String[] markers, boolean blockComment) {
+			this.frames = frames;
+			this.markers = markers;
+			this.blockComment = blockComment;
+		}
+
+		/**
+		 * @return true within a heredoc, a multi-line interpolation or a block comment
+		 */
+		public boolean isOpen() {
+			return frames.length > 0 || blockComment;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			} else if(!(o instanceof State)) {
+				return false;
+			}
+			State state = (State) o;
+			return blockComment == state.blockComment && Arrays.equals(frames, state.frames) && Arrays.equals(markers, state.markers);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * Arrays.hashCode(frames) + Arrays.hashCode(markers)) * 2 + (blockComment ? 1 : 0);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder out = new StringBuilder("State[");
+			for(int i = 0; i < frames.length; i++) {
+				switch(frames[i] & FRAME_MASK) {
+					case QUOTED:
+						out.append("string ");
+						break;
+					case HEREDOC:
+						out.append("heredoc ").append(markers[i]).append(' ');
+						break;
+					default:
+						out.append("template ");
+				}
+			}
+			return out.append(blockComment ? "comment]" : "]").toString();
+		}
+	}
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The expression nodes produced by {@link HCLExpressionParser} (other than for-expressions, which are symbols of
+ * their own) and the value conversions shared by all of them. Numbers are always evaluated to {@link Double}, like the
+ * values in the parsed result map.
+ */
+final class Expressions {
+	private Expressions() {
+	}
+
+	static final class Literal implements HCLExpression {
+		final Object value;
+
+		Literal(Object value) {
+			this.value = value;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			return value;
+		}
+	}
+
+	static final class VariableReference implements HCLExpression {
+		final String name;
+
+		VariableReference(String name) {
+			this.name = name;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			return context.getVariable(name);
+		}
+	}
+
+	/**
+	 * A template string. Parts are either literal {@link String}s or interpolated expressions. A template that
+	 * consists of a single interpolation yields the interpolated value unchanged, as in Terraform.
+	 */
+	static final class Template implements HCLExpression {
+		final Object[] parts;
+
+		Template(Object[] parts) {
+			this.parts = parts;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			if(parts.length == 1 && parts[0] instanceof HCLExpression) {
+				return ((HCLExpression) parts[0]).evaluate(context);
+			}
+			StringBuilder result = new StringBuilder();
+			for(Object part : parts) {
+				if(part instanceof HCLExpression) {
+					result.append(toText(((HCLExpression) part).evaluate(context)));
+				} else {
+					result.append((String) part);
+				}
+			}
+			return result.toString();
+		}
+	}
+
+	/**
+	 * Attribute access, indexing and splats following an expression. A splat applies all steps after it to every
+	 * element of the collection it is applied to.
+	 */
+	static final class Traversal implements HCLExpression {
+		static final Object SPLAT = new Object();
+
+		final HCLExpression source;
+		/**
+		 * {@link String} attribute names, {@link HCLExpression} indexes or {@link #SPLAT}.
+		 */
+		final Object[] steps;
+
+		Traversal(HCLExpression source, Object[] steps) {
+			this.source = source;
+			this.steps = steps;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			return traverse(source.evaluate(context), 0, context);
+		}
+
+		private Object traverse(Object value, int from, HCLEvaluationContext context) {
+			for(int i = from; i < steps.length; i++) {
+				Object step = steps[i];
+				if(step == SPLAT) {
+					List<Object> results = new ArrayList<>();
+					if(value instanceof Iterable || value instanceof Object[]) {
+						for(Object element : iterable(value)) {
+							results.add(traverse(element, i + 1, context));
+						}
+					} else if(value != null) {
+						results.add(traverse(value, i + 1, context));
+					}
+					return results;
+				} else if(step instanceof String) {
+					value = attribute(value, (String) step);
+				} else {
+					value = index(value, ((HCLExpression) step).evaluate(context));
+				}
+			}
+			return value;
+		}
+	}
+
+	static final class FunctionCall implements HCLExpression {
+		final String name;
+		final HCLExpression[] arguments;
+		final boolean expandLast;
+
+		FunctionCall(String name, HCLExpression[] arguments, boolean expandLast) {
+			this.name = name;
+			this.arguments = arguments;
+			this.expandLast = expandLast;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			HCLFunction function = context.getFunction(name);
+			List<Object> values = new ArrayList<>(arguments.length);
+			for(int i = 0; i < arguments.length; i++) {
+				Object value = arguments[i].evaluate(context);
+				if(expandLast && i == arguments.length - 1) {
+					if(!(value instanceof Iterable) && !(value instanceof Object[])) {
+						throw new HCLEvaluationException("Expanded argument of '" + name + "' must be a list, got " + describe(value));
+					}
+					for(Object element : iterable(value)) {
+						values.add(element);
+					}
+				} else {
+					values.add(value);
+				}
+			}
+			return function.call(values);
+		}
+	}
+
+	static final class Unary implements HCLExpression {
+		final char operator;
+		final HCLExpression operand;
+
+		Unary(char operator, HCLExpression operand) {
+			this.operator = operator;
+			this.operand = operand;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			Object value = operand.evaluate(context);
+			if(operator == '!') {
+				return !toBoolean(value);
+			}
+			return -toNumber(value);
+		}
+	}
+
+	static final class Binary implements HCLExpression {
+		final String operator;
+		final HCLExpression left;
+		final HCLExpression right;
+
+		Binary(String operator, HCLExpression left, HCLExpression right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			switch(operator) {
+				case "&&":
+					return toBoolean(left.evaluate(context)) && toBoolean(right.evaluate(context));
+				case "||":
+					return toBoolean(left.evaluate(context)) || toBoolean(right.evaluate(context));
+				case "==":
+					return valuesEqual(left.evaluate(context), right.evaluate(context));
+				case "!=":
+					return !valuesEqual(left.evaluate(context), right.evaluate(context));
+				default:
+			}
+			double a = toNumber(left.evaluate(context));
+			double b = toNumber(right.evaluate(context));
+			switch(operator) {
+				case "+":
+					return a + b;
+				case "-":
+					return a - b;
+				case "*":
+					return a * b;
+				case "/":
+					if(b == 0) {
+						throw new HCLEvaluationException("Division by zero");
+					}
+					return a / b;
+				case "%":
+					if(b == 0) {
+						throw new HCLEvaluationException("Division by zero");
+					}
+					return a % b;
+				case "<":
+					return a < b;
+				case "<=":
+					return a <= b;
+				case ">":
+					return a > b;
+				default:
+					return a >= b;
+			}
+		}
+	}
+
+	static final class Conditional implements HCLExpression {
+		final HCLExpression condition;
+		final HCLExpression whenTrue;
+		final HCLExpression whenFalse;
+
+		Conditional(HCLExpression condition, HCLExpression whenTrue, HCLExpression whenFalse) {
+			this.condition = condition;
+			this.whenTrue = whenTrue;
+			this.whenFalse = whenFalse;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			return toBoolean(condition.evaluate(context)) ? whenTrue.evaluate(context) : whenFalse.evaluate(context);
+		}
+	}
+
+	static final class Tuple implements HCLExpression {
+		final HCLExpression[] items;
+
+		Tuple(HCLExpression[] items) {
+			this.items = items;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			List<Object> values = new ArrayList<>(items.length);
+			for(HCLExpression item : items) {
+				values.add(item.evaluate(context));
+			}
+			return values;
+		}
+	}
+
+	static final class ObjectConstructor implements HCLExpression {
+		final HCLExpression[] keys;
+		final HCLExpression[] values;
+
+		ObjectConstructor(HCLExpression[] keys, HCLExpression[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		public Object evaluate(HCLEvaluationContext context) {
+			Map<String, Object> result = new LinkedHashMap<>();
+			for(int i = 0; i < keys.length; i++) {
+				result.put(toKey(keys[i].evaluate(context)), values[i].evaluate(context));
+			}
+			return result;
+		}
+	}
+
+	static Iterable<?> iterable(Object value) {
+		if(value instanceof Object[]) {
+			return Arrays.asList((Object[]) value);
+		}
+		return (Iterable<?>) value;
+	}
+
+	static Object attribute(Object value, String name) {
+		if(value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			if(!map.containsKey(name)) {
+				throw new HCLEvaluationException("Unsupported attribute '" + name + "'");
+			}
+			return map.get(name);
+		}
+		throw new HCLEvaluationException("Cannot access attribute '" + name + "' of " + describe(value));
+	}
+
+	static Object index(Object value, Object key) {
+		if(value instanceof Map) {
+			String name = toKey(key);
+			Map<?, ?> map = (Map<?, ?>) value;
+			if(!map.containsKey(name)) {
+				throw new HCLEvaluationException("Invalid index '" + name + "'");
+			}
+			return map.get(name);
+		} else if(value instanceof Iterable || value instanceof Object[]) {
+			double number = toNumber(key);
+			int position = (int) number;
+			if(position != number || position < 0) {
+				throw new HCLEvaluationException("Invalid index " + toText(key));
+			}
+			if(value instanceof List) {
+				List<?> list = (List<?>) value;
+				if(position < list.size()) {
+					return list.get(position);
+				}
+			} else {
+				Iterator<?> elements = iterable(value).iterator();
+				for(int i = 0; elements.hasNext(); i++) {
+					Object element = elements.next();
+					if(i == position) {
+						return element;
+					}
+				}
+			}
+			throw new HCLEvaluationException("Index " + position + " out of range");
+		}
+		throw new HCLEvaluationException("Cannot index " + describe(value));
+	}
+
+	static boolean toBoolean(Object value) {
+		if(value instanceof Boolean) {
+			return (Boolean) value;
+		} else if("true".equals(value)) {
+			return true;
+		} else if("false".equals(value)) {
+			return false;
+		}
+		throw new HCLEvaluationException("A bool is required, got " + describe(value));
+	}
+
+	static double toNumber(Object value) {
+		if(value instanceof Number) {
+			return ((Number) value).doubleValue();
+		} else if(value instanceof String) {
+			try {
+				return Double.parseDouble((String) value);
+			} catch(NumberFormatException ex) {
+				throw new HCLEvaluationException("A number is required, got string \"" + value + "\"");
+			}
+		}
+		throw new HCLEvaluationException("A number is required, got " + describe(value));
+	}
+
+	static String toText(Object value) {
+		if(value instanceof String) {
+			return (String) value;
+		} else if(value instanceof Double || value instanceof Float) {
+			double number = ((Number) value).doubleValue();
+			if(Double.isNaN(number) || Double.isInfinite(number)) {
+				return String.valueOf(number);
+			}
+			return BigDecimal.valueOf(number).stripTrailingZeros().toPlainString();
+		} else if(value instanceof Number || value instanceof Boolean) {
+			return value.toString();
+		}
+		throw new HCLEvaluationException("A string is required, got " + describe(value));
+	}
+
+	static String toKey(Object value) {
+		if(value == null) {
+			throw new HCLEvaluationException("Object key must not be null");
+		}
+		return toText(value);
+	}
+
+	/**
+	 * Equality as defined by HCL: numbers compare by value regardless of their Java type, and collections compare
+	 * element-wise, so a lazily evaluated list equals a materialized one.
+	 */
+	static boolean valuesEqual(Object a, Object b) {
+		if(a == b) {
+			return true;
+		} else if(a == null || b == null) {
+			return false;
+		} else if(a instanceof Number && b instanceof Number) {
+			return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+		} else if(a instanceof Map && b instanceof Map) {
+			Map<?, ?> left = (Map<?, ?>) a;
+			Map<?, ?> right = (Map<?, ?>) b;
+			if(left.size() != right.size()) {
+				return false;
+			}
+			for(Map.Entry<?, ?> entry : left.entrySet()) {
+				if(!right.containsKey(entry.getKey()) || !valuesEqual(entry.getValue(), right.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		} else if((a instanceof Iterable || a instanceof Object[]) && (b instanceof Iterable || b instanceof Object[])) {
+			Iterator<?> left = iterable(a).iterator();
+			Iterator<?> right = iterable(b).iterator();
+			while(left.hasNext() && right.hasNext()) {
+				if(!valuesEqual(left.next(), right.next())) {
+					return false;
+				}
+			}
+			return !left.hasNext() && !right.hasNext();
+		}
+		return a.equals(b);
+	}
+
+	static String describe(Object value) {
+		if(value == null) {
+			return "null";
+		} else if(value instanceof String) {
+			return "string";
+		} else if(value instanceof Number) {
+			return "number";
+		} else if(value instanceof Boolean) {
+			return "bool";
+		} else if(value instanceof Map) {
+			return "object";
+		} else if(value instanceof Iterable || value instanceof Object[]) {
+			return "list";
+		}
+		return value.getClass().getName();
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code [for ...]} or {@code {for ...}} expression captured by the lexer. The name of the symbol is the source of
+ * the expression with comments removed and whitespace collapsed.
+ *
+ * <p>
+ *     The nodes only describe the expression; values are supplied by the {@link HCLEvaluationContext} passed to
+ *     {@link #evaluate}, so one node can be evaluated against any number of variable bindings. Elements of the
+ *     source collection are visited one at a time and never copied into an intermediate list.
+ * </p>
+ */
+public abstract class ForExpression extends EvalSymbol implements HCLExpression {
+	private final String keyVariable;
+	private final String valueVariable;
+	private final HCLExpression collection;
+	private final HCLExpression condition;
+
+	protected ForExpression(String name, String keyVariable, String valueVariable, HCLExpression collection,
+	                        HCLExpression condition, Integer line, Integer column, Long position) {
+		super(name, line, column, position);
+		this.keyVariable = keyVariable;
+		this.valueVariable = valueVariable;
+		this.collection = collection;
+		this.condition = condition;
+	}
+
+	/**
+	 * @return the name bound to the index (lists) or key (maps) of each element, or null if only values are iterated
+	 */
+	public String getKeyVariable() {
+		return keyVariable;
+	}
+
+	public String getValueVariable() {
+		return valueVariable;
+	}
+
+	public HCLExpression getCollection() {
+		return collection;
+	}
+
+	/**
+	 * @return the {@code if} filter, or null
+	 */
+	public HCLExpression getCondition() {
+		return condition;
+	}
+
+	/**
+	 * Evaluates the collection expression.
+	 * @param context the context the for-expression is evaluated in
+	 * @return a {@link Map}, {@link Iterable} or array
+	 * @throws HCLEvaluationException if the collection cannot be iterated
+	 */
+	protected Object evaluateCollection(HCLEvaluationContext context) {
+		Object value = collection.evaluate(context);
+		if(value instanceof Map || value instanceof Iterable || value instanceof Object[]) {
+			return value;
+		}
+		throw new HCLEvaluationException("Cannot iterate over " + Expressions.describe(value) + " in '" + getName() + "'");
+	}
+
+	/**
+	 * Lazily iterates an evaluated collection, binding the iterator variables for each element that passes the
+	 * {@code if} filter.
+	 * @param context the context the for-expression is evaluated in
+	 * @param source the result of {@link #evaluateCollection}
+	 * @return one child context per element that passes the filter
+	 */
+	protected Iterator<HCLEvaluationContext> scopes(HCLEvaluationContext context, Object source) {
+		if(source instanceof Map) {
+			return new Scopes(context, ((Map<?, ?>) source).entrySet().iterator(), true);
+		}
+		return new Scopes(context, Expressions.iterable(source).iterator(), false);
+	}
+
+	private final class Scopes implements Iterator<HCLEvaluationContext> {
+		private final HCLEvaluationContext context;
+		private final Iterator<?> elements;
+		private final boolean entries;
+		private HCLEvaluationContext next;
+		private int index;
+
+		Scopes(HCLEvaluationContext context, Iterator<?> elements, boolean entries) {
+			this.context = context;
+			this.elements = elements;
+			this.entries = entries;
+		}
+
+		public boolean hasNext() {
+			while(next == null && elements.hasNext()) {
+				Object element = elements.next();
+				HCLEvaluationContext scope;
+				if(entries) {
+					Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+					scope = context.withVariables(keyVariable, entry.getKey(), valueVariable, entry.getValue());
+				} else {
+					scope = context.withVariables(keyVariable, (double) index, valueVariable, element);
+				}
+				index++;
+				if(condition == null || Expressions.toBoolean(condition.evaluate(scope))) {
+					next = scope;
+				}
+			}
+			return next != null;
+		}
+
+		public HCLEvaluationContext next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			HCLEvaluationContext scope = next;
+			next = null;
+			return scope;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code {for k, v in collection : key => value if condition}} expression. Evaluating it builds the resulting
+ * {@link Map} in a single pass over the source collection. Without grouping ({@code ...} after the value) a duplicate
+ * key is an error, with grouping the values of each key are collected into a list.
+ */
+public class ForObjectExpression extends ForExpression {
+	private final HCLExpression keyExpression;
+	private final HCLExpression valueExpression;
+	private final boolean grouping;
+
+	public ForObjectExpression(String name, String keyVariable, String valueVariable, HCLExpression collection,
+	                           HCLExpression keyExpression, HCLExpression valueExpression, boolean grouping,
+	                           HCLExpression condition, Integer line, Integer column, Long position) {
+		super(name, keyVariable, valueVariable, collection, condition, line, column, position);
+		this.keyExpression = keyExpression;
+		this.valueExpression = valueExpression;
+		this.grouping = grouping;
+	}
+
+	public String getSymbolName() {
+		return "ForObjectExpression";
+	}
+
+	public HCLExpression getKeyExpression() {
+		return keyExpression;
+	}
+
+	public HCLExpression getValueExpression() {
+		return valueExpression;
+	}
+
+	public boolean isGrouping() {
+		return grouping;
+	}
+
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> evaluate(HCLEvaluationContext context) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		Iterator<HCLEvaluationContext> scopes = scopes(context, evaluateCollection(context));
+		while(scopes.hasNext()) {
+			HCLEvaluationContext scope = scopes.next();
+			String key = Expressions.toKey(keyExpression.evaluate(scope));
+			Object value = valueExpression.evaluate(scope);
+			if(grouping) {
+				List<Object> group = (List<Object>) result.get(key);
+				if(group == null) {
+					group = new ArrayList<>();
+					result.put(key, group);
+				}
+				group.add(value);
+			} else if(result.containsKey(key)) {
+				throw new HCLEvaluationException("Duplicate object key '" + key + "' in '" + getName() + "', use '...' to group values by key");
+			} else {
+				result.put(key, value);
+			}
+		}
+		return result;
+	}
+}
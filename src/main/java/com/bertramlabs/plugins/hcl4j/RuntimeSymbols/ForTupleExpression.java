@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.util.Iterator;
+
+/**
+ * A {@code [for v in collection : expression if condition]} expression. Evaluating it returns a lazy
+ * {@link Iterable}: the value expression and filter run while the result is iterated, and every iteration
+ * walks the evaluated source collection again.
+ */
+public class ForTupleExpression extends ForExpression {
+	private final HCLExpression valueExpression;
+
+	public ForTupleExpression(String name, String keyVariable, String valueVariable, HCLExpression collection,
+	                          HCLExpression valueExpression, HCLExpression condition, Integer line, Integer column, Long position) {
+		super(name, keyVariable, valueVariable, collection, condition, line, column, position);
+		this.valueExpression = valueExpression;
+	}
+
+	public String getSymbolName() {
+		return "ForTupleExpression";
+	}
+
+	public HCLExpression getValueExpression() {
+		return valueExpression;
+	}
+
+	public Iterable<Object> evaluate(final HCLEvaluationContext context) {
+		final Object source = evaluateCollection(context);
+		return new Iterable<Object>() {
+			public Iterator<Object> iterator() {
+				final Iterator<HCLEvaluationContext> scopes = scopes(context, source);
+				return new Iterator<Object>() {
+					public boolean hasNext() {
+						return scopes.hasNext();
+					}
+
+					public Object next() {
+						return valueExpression.evaluate(scopes.next());
+					}
+
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The variables and functions an {@link HCLExpression} is evaluated against. Contexts are immutable: for-expressions
+ * bind their iterator variables by creating a small child scope per element, so lazily evaluated results never see
+ * bindings change underneath them.
+ *
+ * <p>
+ *     Below is an example of evaluating a for-expression parsed from a configuration.
+ * </p>
+ * <pre>
+ *     {@code
+ *     Map<String,Object> results = new HCLParser().parse(terraformFile);
+ *     Map<String,Object> variables = new HashMap<>();
+ *     variables.put("var", Collections.singletonMap("names", Arrays.asList("a", "b")));
+ *     HCLExpression names = (HCLExpression) results.get("names");
+ *     Object value = names.evaluate(new HCLEvaluationContext(variables));
+ *     }
+ * </pre>
+ */
+public final class HCLEvaluationContext {
+	private static final Object UNDEFINED = new Object();
+
+	private final HCLEvaluationContext parent;
+	private final Map<String, ?> variables;
+	private final Map<String, HCLFunction> functions;
+	private final String firstName;
+	private final Object firstValue;
+	private final String secondName;
+	private final Object secondValue;
+
+	public HCLEvaluationContext() {
+		this(Collections.<String, Object>emptyMap());
+	}
+
+	/**
+	 * @param variables root variables, e.g. {@code var} mapped to a {@link Map} of input variable values
+	 */
+	public HCLEvaluationContext(Map<String, ?> variables) {
+		this(variables, Collections.<String, HCLFunction>emptyMap());
+	}
+
+	/**
+	 * @param variables root variables, e.g. {@code var} mapped to a {@link Map} of input variable values
+	 * @param functions functions callable by name
+	 */
+	public HCLEvaluationContext(Map<String, ?> variables, Map<String, HCLFunction> functions) {
+		this(null, variables, functions, null, null, null, null);
+	}
+
+	private HCLEvaluationContext(HCLEvaluationContext parent, Map<String, ?> variables, Map<String, HCLFunction> functions,
+	                             String firstName, Object firstValue, String secondName, Object secondValue) {
+		this.parent = parent;
+		this.variables = variables;
+		this.functions = functions;
+		this.firstName = firstName;
+		this.firstValue = firstValue;
+		this.secondName = secondName;
+		this.secondValue = secondValue;
+	}
+
+	/**
+	 * Returns a context with one additional variable, shadowing any variable of the same name in this context.
+	 */
+	public HCLEvaluationContext withVariable(String name, Object value) {
+		return new HCLEvaluationContext(this, variables, functions, name, value, null, null);
+	}
+
+	/**
+	 * Returns a context with two additional variables, e.g. the key and value variables of a for-expression.
+	 * A null name is ignored.
+	 */
+	public HCLEvaluationContext withVariables(String firstName, Object firstValue, String secondName, Object secondValue) {
+		return new HCLEvaluationContext(this, variables, functions, firstName, firstValue, secondName, secondValue);
+	}
+
+	/**
+	 * Returns a context with an additional function, replacing any function of the same name.
+	 */
+	public HCLEvaluationContext withFunction(String name, HCLFunction function) {
+		Map<String, HCLFunction> copy = new HashMap<>(functions);
+		copy.put(name, function);
+		return new HCLEvaluationContext(parent, variables, copy, firstName, firstValue, secondName, secondValue);
+	}
+
+	public boolean hasVariable(String name) {
+		return lookup(name) != UNDEFINED;
+	}
+
+	/**
+	 * @throws HCLEvaluationException if the variable is not defined
+	 */
+	public Object getVariable(String name) {
+		Object value = lookup(name);
+		if(value == UNDEFINED) {
+			throw new HCLEvaluationException("Unknown variable '" + name + "'");
+		}
+		return value;
+	}
+
+	/**
+	 * @throws HCLEvaluationException if no function of this name is registered
+	 */
+	public HCLFunction getFunction(String name) {
+		HCLFunction function = functions.get(name);
+		if(function == null) {
+			throw new HCLEvaluationException("Call to unknown function '" + name + "'");
+		}
+		return function;
+	}
+
+	private Object lookup(String name) {
+		for(HCLEvaluationContext scope = this; scope != null; scope = scope.parent) {
+			if(name.equals(scope.secondName)) {
+				return scope.secondValue;
+			} else if(name.equals(scope.firstName)) {
+				return scope.firstValue;
+			} else if(scope.parent == null) {
+				if(scope.variables.containsKey(name)) {
+					return scope.variables.get(name);
+				}
+			}
+		}
+		return UNDEFINED;
+	}
+}
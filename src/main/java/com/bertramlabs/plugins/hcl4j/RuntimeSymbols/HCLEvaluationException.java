@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+/**
+ * Thrown when an {@link HCLExpression} cannot be evaluated, e.g. because a variable is undefined or an operand has
+ * the wrong type. This is unchecked because for-expressions are evaluated lazily while their results are iterated.
+ */
+public class HCLEvaluationException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public HCLEvaluationException(String message) {
+		super(message);
+	}
+
+	public HCLEvaluationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+/**
+ * A parsed expression. Expressions are immutable and hold no variable values, so one instance can be evaluated any
+ * number of times (also concurrently) against different {@link HCLEvaluationContext}s.
+ */
+public interface HCLExpression {
+	/**
+	 * Evaluates this expression.
+	 * @param context variables and functions visible to the expression
+	 * @return the value, numbers are returned as {@link Double}
+	 * @throws HCLEvaluationException if the expression cannot be evaluated with the given context
+	 */
+	Object evaluate(HCLEvaluationContext context);
+}
@@ -0,0 +1,612 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recursive-descent parser for HCL expressions: literals, templates, variable references with attribute, index and
+ * splat traversals, function calls, operators, conditionals, tuple and object constructors, and nested
+ * for-expressions. The lexer uses it to turn the source of a for-expression into {@link ForTupleExpression} and
+ * {@link ForObjectExpression} nodes.
+ */
+public final class HCLExpressionParser {
+	private static final String[][] OPERATORS = {
+		{"||"},
+		{"&&"},
+		{"==", "!="},
+		{"<=", ">=", "<", ">"},
+		{"+", "-"},
+		{"*", "/", "%"}
+	};
+
+	private final String text;
+	private final int line;
+	private final int column;
+	private final long position;
+	private int pos;
+
+	private HCLExpressionParser(String text, int line, int column, long position) {
+		this.text = text;
+		this.line = line;
+		this.column = column;
+		this.position = position;
+	}
+
+	/**
+	 * Parses a single expression.
+	 * @param expression the source of the expression
+	 * @return the parsed expression
+	 * @throws HCLParserException if the expression is not valid or followed by anything else
+	 */
+	public static HCLExpression parse(String expression) throws HCLParserException {
+		HCLExpressionParser parser = new HCLExpressionParser(expression, 0, 0, 0);
+		HCLExpression result = parser.parseExpression();
+		parser.expectEnd();
+		return result;
+	}
+
+	/**
+	 * Parses the source of a {@code [for ...]} or {@code {for ...}} expression, including its brackets. A body this
+	 * parser cannot handle, such as one using template directives or heredocs, yields an
+	 * {@link UnevaluatedForExpression} that keeps the source instead of failing the surrounding parse.
+	 * @param source the source of the expression
+	 * @param line zero based line of the opening bracket
+	 * @param column zero based column of the opening bracket
+	 * @param position character offset of the opening bracket
+	 * @return the parsed for-expression
+	 * @throws HCLParserException if the source does not start with a for-expression
+	 */
+	public static ForExpression parseForExpression(String source, int line, int column, long position) throws HCLParserException {
+		HCLExpressionParser parser = new HCLExpressionParser(source, line, column, position);
+		if(!parser.isForExpression()) {
+			throw parser.error("Expected a for expression");
+		}
+		try {
+			ForExpression result = parser.parseForExpression();
+			parser.expectEnd();
+			return result;
+		} catch(HCLParserException ex) {
+			parser.pos = 0;
+			parser.skip();
+			return new UnevaluatedForExpression(normalize(source), source.charAt(parser.pos) == '[', ex.getMessage(),
+				line, column, position);
+		}
+	}
+
+	/**
+	 * Strips comments and collapses whitespace outside of string literals, dropping it next to brackets.
+	 */
+	static String normalize(String source) {
+		StringBuilder result = new StringBuilder(source.length());
+		boolean inString = false;
+		boolean space = false;
+		for(int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if(inString) {
+				result.append(c);
+				if(c == '\\' && i + 1 < source.length()) {
+					result.append(source.charAt(++i));
+				} else if(c == '"') {
+					inString = false;
+				}
+				continue;
+			}
+			if(c == '#' || (c == '/' && i + 1 < source.length() && source.charAt(i + 1) == '/')) {
+				while(i + 1 < source.length() && source.charAt(i + 1) != '\n') {
+					i++;
+				}
+				space = true;
+			} else if(c == '/' && i + 1 < source.length() && source.charAt(i + 1) == '*') {
+				int end = source.indexOf("*/", i + 2);
+				i = end < 0 ? source.length() : end + 1;
+				space = true;
+			} else if(c <= ' ') {
+				space = true;
+			} else {
+				if(space && result.length() > 0 && "([{".indexOf(result.charAt(result.length() - 1)) < 0 && ")]}".indexOf(c) < 0) {
+					result.append(' ');
+				}
+				space = false;
+				result.append(c);
+				inString = c == '"';
+			}
+		}
+		return result.toString();
+	}
+
+	private HCLExpression parseExpression() throws HCLParserException {
+		HCLExpression condition = parseBinary(0);
+		if(accept("?")) {
+			HCLExpression whenTrue = parseExpression();
+			expect(":");
+			HCLExpression whenFalse = parseExpression();
+			return new Expressions.Conditional(condition, whenTrue, whenFalse);
+		}
+		return condition;
+	}
+
+	private HCLExpression parseBinary(int level) throws HCLParserException {
+		if(level == OPERATORS.length) {
+			return parseUnary();
+		}
+		HCLExpression left = parseBinary(level + 1);
+		String operator;
+		while((operator = acceptOperator(level)) != null) {
+			left = new Expressions.Binary(operator, left, parseBinary(level + 1));
+		}
+		return left;
+	}
+
+	private String acceptOperator(int level) {
+		skip();
+		for(String operator : OPERATORS[level]) {
+			if(text.startsWith(operator, pos)) {
+				pos += operator.length();
+				return operator;
+			}
+		}
+		return null;
+	}
+
+	private HCLExpression parseUnary() throws HCLParserException {
+		skip();
+		if(pos < text.length() && (text.charAt(pos) == '!' || text.charAt(pos) == '-')) {
+			char operator = text.charAt(pos++);
+			HCLExpression operand = parseUnary();
+			if(operator == '-' && operand instanceof Expressions.Literal && ((Expressions.Literal) operand).value instanceof Double) {
+				double value = (Double) ((Expressions.Literal) operand).value;
+				return new Expressions.Literal(-value);
+			}
+			return new Expressions.Unary(operator, operand);
+		}
+		return parsePostfix();
+	}
+
+	private HCLExpression parsePostfix() throws HCLParserException {
+		HCLExpression expression = parsePrimary();
+		List<Object> steps = null;
+		while(true) {
+			skip();
+			Object step;
+			if(text.startsWith("...", pos)) {
+				break;
+			} else if(accept(".")) {
+				skip();
+				if(accept("*")) {
+					step = Expressions.Traversal.SPLAT;
+				} else if(pos < text.length() && Character.isDigit(text.charAt(pos))) {
+					int start = pos;
+					while(pos < text.length() && Character.isDigit(text.charAt(pos))) {
+						pos++;
+					}
+					step = new Expressions.Literal(Double.parseDouble(text.substring(start, pos)));
+				} else {
+					step = identifier();
+				}
+			} else if(accept("[")) {
+				if(accept("*")) {
+					step = Expressions.Traversal.SPLAT;
+				} else {
+					step = parseExpression();
+				}
+				expect("]");
+			} else {
+				break;
+			}
+			if(steps == null) {
+				steps = new ArrayList<>();
+			}
+			steps.add(step);
+		}
+		return steps == null ? expression : new Expressions.Traversal(expression, steps.toArray());
+	}
+
+	private HCLExpression parsePrimary() throws HCLParserException {
+		skip();
+		if(pos >= text.length()) {
+			throw error("Unexpected end of expression");
+		}
+		char c = text.charAt(pos);
+		if(Character.isDigit(c)) {
+			return number();
+		} else if(c == '"') {
+			return template();
+		} else if(c == '(') {
+			pos++;
+			HCLExpression expression = parseExpression();
+			expect(")");
+			return expression;
+		} else if(c == '[' || c == '{') {
+			if(isForExpression()) {
+				return parseForExpression();
+			}
+			return c == '[' ? tuple() : object();
+		} else if(isIdentifierStart(c)) {
+			String name = identifier();
+			switch(name) {
+				case "true":
+					return new Expressions.Literal(Boolean.TRUE);
+				case "false":
+					return new Expressions.Literal(Boolean.FALSE);
+				case "null":
+					return new Expressions.Literal(null);
+				default:
+			}
+			if(text.startsWith("::", pos)) {
+				return functionCall(providerFunction(name));
+			}
+			if(pos < text.length() && text.charAt(pos) == '(') {
+				return functionCall(name);
+			}
+			return new Expressions.VariableReference(name);
+		} else if(text.startsWith("<<", pos)) {
+			throw error("Heredoc templates are not supported in expressions");
+		}
+		throw error("Unexpected character '" + c + "'");
+	}
+
+	private boolean isForExpression() {
+		int start = pos;
+		try {
+			skip();
+			pos++;
+			skip();
+			return keyword("for");
+		} finally {
+			pos = start;
+		}
+	}
+
+	private ForExpression parseForExpression() throws HCLParserException {
+		skip();
+		int start = pos;
+		char open = text.charAt(pos++);
+		expectKeyword("for");
+		String keyVariable = null;
+		String valueVariable = identifier();
+		if(accept(",")) {
+			keyVariable = valueVariable;
+			skip();
+			valueVariable = identifier();
+		}
+		expectKeyword("in");
+		HCLExpression collection = parseExpression();
+		expect(":");
+		HCLExpression keyExpression = null;
+		boolean grouping = false;
+		if(open == '{') {
+			keyExpression = parseExpression();
+			expect("=>");
+		}
+		HCLExpression valueExpression = parseExpression();
+		if(open == '{') {
+			grouping = accept("...");
+		}
+		HCLExpression condition = null;
+		skip();
+		if(keyword("if")) {
+			pos += 2;
+			condition = parseExpression();
+		}
+		expect(open == '[' ? "]" : "}");
+
+		String name = normalize(text.substring(start, pos));
+		int symbolLine = lineAt(start);
+		int symbolColumn = columnAt(start);
+		long symbolPosition = position + start;
+		if(open == '[') {
+			return new ForTupleExpression(name, keyVariable, valueVariable, collection, valueExpression, condition,
+				symbolLine, symbolColumn, symbolPosition);
+		}
+		return new ForObjectExpression(name, keyVariable, valueVariable, collection, keyExpression, valueExpression, grouping,
+			condition, symbolLine, symbolColumn, symbolPosition);
+	}
+
+	private HCLExpression tuple() throws HCLParserException {
+		pos++;
+		List<HCLExpression> items = new ArrayList<>();
+		while(!accept("]")) {
+			items.add(parseExpression());
+			if(!accept(",")) {
+				expect("]");
+				break;
+			}
+		}
+		return new Expressions.Tuple(items.toArray(new HCLExpression[items.size()]));
+	}
+
+	private HCLExpression object() throws HCLParserException {
+		pos++;
+		List<HCLExpression> keys = new ArrayList<>();
+		List<HCLExpression> values = new ArrayList<>();
+		while(!accept("}")) {
+			skip();
+			HCLExpression key = null;
+			if(pos < text.length() && isIdentifierStart(text.charAt(pos))) {
+				int start = pos;
+				String name = identifier();
+				if(peekAssignment()) {
+					key = new Expressions.Literal(name);
+				} else {
+					pos = start;
+				}
+			}
+			if(key == null) {
+				key = parseExpression();
+			}
+			if(!peekAssignment()) {
+				throw error("Expected '=' or ':' after object key");
+			}
+			pos++;
+			keys.add(key);
+			values.add(parseExpression());
+			accept(",");
+		}
+		return new Expressions.ObjectConstructor(keys.toArray(new HCLExpression[keys.size()]),
+			values.toArray(new HCLExpression[values.size()]));
+	}
+
+	private boolean peekAssignment() {
+		skip();
+		if(pos >= text.length()) {
+			return false;
+		}
+		char c = text.charAt(pos);
+		if(c == ':') {
+			return true;
+		}
+		return c == '=' && !(pos + 1 < text.length() && (text.charAt(pos + 1) == '=' || text.charAt(pos + 1) == '>'));
+	}
+
+	/**
+	 * Reads the rest of a namespaced function name such as {@code provider::aws::arn_parse}. The function is looked up
+	 * under its full name.
+	 */
+	private String providerFunction(String namespace) throws HCLParserException {
+		StringBuilder name = new StringBuilder(namespace);
+		while(text.startsWith("::", pos)) {
+			pos += 2;
+			name.append("::").append(identifier());
+		}
+		if(pos >= text.length() || text.charAt(pos) != '(') {
+			throw error("Expected '(' after function name '" + name + "'");
+		}
+		return name.toString();
+	}
+
+	private HCLExpression functionCall(String name) throws HCLParserException {
+		pos++;
+		List<HCLExpression> arguments = new ArrayList<>();
+		boolean expandLast = false;
+		while(!accept(")")) {
+			arguments.add(parseExpression());
+			if(accept("...")) {
+				expandLast = true;
+				expect(")");
+				break;
+			} else if(!accept(",")) {
+				expect(")");
+				break;
+			}
+		}
+		return new Expressions.FunctionCall(name, arguments.toArray(new HCLExpression[arguments.size()]), expandLast);
+	}
+
+	private HCLExpression number() throws HCLParserException {
+		int start = pos;
+		skipDigits();
+		if(pos + 1 < text.length() && text.charAt(pos) == '.' && Character.isDigit(text.charAt(pos + 1))) {
+			pos++;
+			skipDigits();
+		}
+		if(pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+			int exponent = pos++;
+			if(pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+				pos++;
+			}
+			if(pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				skipDigits();
+			} else {
+				pos = exponent;
+			}
+		}
+		return new Expressions.Literal(Double.parseDouble(text.substring(start, pos)));
+	}
+
+	private void skipDigits() {
+		while(pos < text.length() && Character.isDigit(text.charAt(pos))) {
+			pos++;
+		}
+	}
+
+	private HCLExpression template() throws HCLParserException {
+		int start = pos++;
+		List<Object> parts = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		while(true) {
+			if(pos >= text.length() || text.charAt(pos) == '\n') {
+				pos = start;
+				throw error("Unterminated string");
+			}
+			char c = text.charAt(pos);
+			if(c == '"') {
+				pos++;
+				break;
+			} else if(c == '\\' && pos + 1 < text.length()) {
+				literal.append(escape());
+			} else if(text.startsWith("$${", pos) || text.startsWith("%%{", pos)) {
+				literal.append(c).append('{');
+				pos += 3;
+			} else if(text.startsWith("${", pos)) {
+				pos += 2;
+				accept("~");
+				if(literal.length() > 0) {
+					parts.add(literal.toString());
+					literal.setLength(0);
+				}
+				parts.add(parseExpression());
+				accept("~");
+				expect("}");
+			} else if(text.startsWith("%{", pos)) {
+				throw error("Template directives are not supported in expressions");
+			} else {
+				literal.append(c);
+				pos++;
+			}
+		}
+		if(parts.isEmpty()) {
+			return new Expressions.Literal(literal.toString());
+		} else if(literal.length() > 0) {
+			parts.add(literal.toString());
+		}
+		return new Expressions.Template(parts.toArray());
+	}
+
+	private String escape() throws HCLParserException {
+		char c = text.charAt(pos + 1);
+		pos += 2;
+		switch(c) {
+			case 'n':
+				return "\n";
+			case 't':
+				return "\t";
+			case 'r':
+				return "\r";
+			case 'u':
+			case 'U':
+				int digits = c == 'u' ? 4 : 8;
+				if(pos + digits > text.length()) {
+					throw error("Invalid unicode escape");
+				}
+				try {
+					int codePoint = Integer.parseInt(text.substring(pos, pos + digits), 16);
+					pos += digits;
+					return new String(Character.toChars(codePoint));
+				} catch(IllegalArgumentException ex) {
+					throw error("Invalid unicode escape");
+				}
+			default:
+				return String.valueOf(c);
+		}
+	}
+
+	private String identifier() throws HCLParserException {
+		int start = pos;
+		if(pos < text.length() && isIdentifierStart(text.charAt(pos))) {
+			pos++;
+			while(pos < text.length() && isIdentifierPart(text.charAt(pos))) {
+				pos++;
+			}
+		}
+		if(start == pos) {
+			throw error("Expected an identifier");
+		}
+		return text.substring(start, pos);
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return Character.isLetter(c) || c == '_';
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+	}
+
+	/**
+	 * @return true if the identifier at the current position (after whitespace) is the given keyword
+	 */
+	private boolean keyword(String keyword) {
+		skip();
+		int end = pos + keyword.length();
+		return text.startsWith(keyword, pos) && (end == text.length() || !isIdentifierPart(text.charAt(end)));
+	}
+
+	private void expectKeyword(String keyword) throws HCLParserException {
+		if(!keyword(keyword)) {
+			throw error("Expected '" + keyword + "'");
+		}
+		pos += keyword.length();
+		skip();
+	}
+
+	private boolean accept(String token) {
+		skip();
+		if(text.startsWith(token, pos)) {
+			pos += token.length();
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(String token) throws HCLParserException {
+		if(!accept(token)) {
+			throw error(pos < text.length() ? "Expected '" + token + "'" : "Expected '" + token + "' before end of expression");
+		}
+	}
+
+	private void expectEnd() throws HCLParserException {
+		skip();
+		if(pos < text.length()) {
+			throw error("Unexpected '" + text.charAt(pos) + "' after expression");
+		}
+	}
+
+	/**
+	 * Skips whitespace (including newlines, which carry no meaning inside brackets) and comments.
+	 */
+	private void skip() {
+		while(pos < text.length()) {
+			char c = text.charAt(pos);
+			if(c <= ' ') {
+				pos++;
+			} else if(c == '#' || text.startsWith("//", pos)) {
+				while(pos < text.length() && text.charAt(pos) != '\n') {
+					pos++;
+				}
+			} else if(text.startsWith("/*", pos)) {
+				int end = text.indexOf("*/", pos + 2);
+				pos = end < 0 ? text.length() : end + 2;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private int lineAt(int offset) {
+		int result = line;
+		for(int i = 0; i < offset; i++) {
+			if(text.charAt(i) == '\n') {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private int columnAt(int offset) {
+		int lineStart = text.lastIndexOf('\n', offset - 1);
+		return lineStart < 0 ? column + offset : offset - lineStart - 1;
+	}
+
+	private HCLParserException error(String message) {
+		int offset = Math.min(pos, text.length());
+		return new HCLParserException(message + " in expression '" + normalize(text) + "' on line: " + (lineAt(offset) + 1)
+			+ " col: " + (columnAt(offset) + 1));
+	}
+}
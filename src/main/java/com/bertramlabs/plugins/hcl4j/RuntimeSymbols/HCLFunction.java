@@ -0,0 +1,26 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+import java.util.List;
+
+/**
+ * A function that can be called from an evaluated expression, registered by name on an {@link HCLEvaluationContext}.
+ * Numbers are passed as {@link Double}, lists as {@link Iterable} (possibly lazy) and objects as {@link java.util.Map}.
+ */
+public interface HCLFunction {
+	Object call(List<Object> arguments);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols;
+
+/**
+ * A for-expression whose body uses a construct {@link HCLExpressionParser} cannot evaluate, such as template
+ * directives or heredocs. The raw source is kept as the name of the symbol, so parsing the surrounding configuration
+ * still succeeds; the iterator variables, collection and filter are not known and return null.
+ */
+public class UnevaluatedForExpression extends ForExpression {
+	private final boolean tuple;
+	private final String reason;
+
+	public UnevaluatedForExpression(String source, boolean tuple, String reason, Integer line, Integer column, Long position) {
+		super(source, null, null, null, null, line, column, position);
+		this.tuple = tuple;
+		this.reason = reason;
+	}
+
+	public String getSymbolName() {
+		return "UnevaluatedForExpression";
+	}
+
+	/**
+	 * @return true for a {@code [for ...]} expression, false for a {@code {for ...}} expression
+	 */
+	public boolean isTuple() {
+		return tuple;
+	}
+
+	/**
+	 * @return why the expression could not be parsed for evaluation
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * @throws HCLEvaluationException always, the expression was not parsed
+	 */
+	public Object evaluate(HCLEvaluationContext context) {
+		throw new HCLEvaluationException("Cannot evaluate '" + getName() + "': " + reason);
+	}
+}
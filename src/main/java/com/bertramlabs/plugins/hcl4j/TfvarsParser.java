@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single pass parser for flat {@code .tfvars} files, used by {@link HCLParser#parseTfvars}. It reads
+ * {@code name = value} pairs from a character buffer straight into the result map without going through the lexer
+ * state machine or building symbols.
+ * <p>
+ *     Results must be identical to {@link HCLParser#parse}, including the lexer's treatment of escapes, interpolations
+ *     and heredocs. The fast path therefore only accepts input whose general parse it reproduces exactly: strings,
+ *     numbers, booleans, nulls, heredocs, arrays and nested objects written as {@code key = value} lines. Anything else
+ *     (blocks, references, expressions, single quoted strings, {@code key: value} maps, values followed by comments or
+ *     closing braces on the same line, ...) makes {@link #parse()} return null, and the caller uses the general parser.
+ * </p>
+ */
+final class TfvarsParser {
+	private static final Object FALLBACK = new Object();
+
+	private static final int ROOT = 0;
+	private static final int BLOCK = 1;
+	private static final int ARRAY = 2;
+
+	private final char[] input;
+	private final int length;
+	private final StringBuilder text = new StringBuilder();
+	private int pos;
+
+	TfvarsParser(char[] input, int length) {
+		this.input = input;
+		this.length = length;
+	}
+
+	/**
+	 * @return the attributes in document order, or null if the input has to be parsed by the general parser
+	 */
+	Map<String,Object> parse() {
+		Map<String,Object> result = new LinkedHashMap<>();
+		while(true) {
+			if(!skipTrivia()) {
+				return null;
+			}
+			if(pos >= length) {
+				return result;
+			}
+			if(!attribute(result, ROOT)) {
+				return null;
+			}
+		}
+	}
+
+	private boolean attribute(Map<String,Object> target, int context) {
+		String name = name();
+		if(name == null) {
+			return false;
+		}
+		skipSpaces();
+		if(pos >= length || input[pos] != '=') {
+			return false;
+		}
+		pos++;
+		skipSpaces();
+		Object value = value(context);
+		if(value == FALLBACK) {
+			return false;
+		}
+		target.put(name, value);
+		return true;
+	}
+
+	private Object value(int context) {
+		if(pos >= length) {
+			return FALLBACK;
+		}
+		char c = input[pos];
+		switch(c) {
+			case '"':
+				pos++;
+				Object string = string();
+				return string == FALLBACK || context == ARRAY || endOfValue() ? string : FALLBACK;
+			case '[':
+				pos++;
+				return array();
+			case '{':
+				pos++;
+				return object();
+			case '<':
+				return context == ARRAY ? FALLBACK : heredoc();
+			case 't':
+				return keyword("true", Boolean.TRUE, context);
+			case 'f':
+				return keyword("false", Boolean.FALSE, context);
+			case 'n':
+				return keyword("null", null, context);
+			default:
+				if(c >= '0' && c <= '9') {
+					return number(context);
+				}
+				return FALLBACK;
+		}
+	}
+
+	/**
+	 * A scalar outside of arrays is followed by the line terminator that ends the attribute. Anything else on the line
+	 * (a comment swallowing the newline, a closing brace, another value) is handled quirkily by the lexer.
+	 */
+	private boolean endOfValue() {
+		skipSpaces();
+		return pos >= length || input[pos] == '\n' || input[pos] == '\r';
+	}
+
+	/**
+	 * Numbers, keywords and strings inside arrays end at a separator. Other characters would make the lexer match a
+	 * longer token (e.g. an identifier) instead.
+	 */
+	private boolean endOfToken(int context) {
+		if(context != ARRAY) {
+			return endOfValue();
+		}
+		if(pos >= length) {
+			return true;
+		}
+		char c = input[pos];
+		return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ',' || c == ']' || c == '#';
+	}
+
+	private Object keyword(String keyword, Object value, int context) {
+		if(!input(keyword)) {
+			return FALLBACK;
+		}
+		pos += keyword.length();
+		return endOfToken(context) ? value : FALLBACK;
+	}
+
+	private Object number(int context) {
+		int start = pos;
+		skipDigits();
+		if(pos + 1 < length && input[pos] == '.' && isDigit(input[pos + 1])) {
+			pos++;
+			skipDigits();
+		}
+		if(pos < length && (input[pos] == 'e' || input[pos] == 'E')) {
+			int exponent = pos + 1;
+			if(exponent < length && (input[exponent] == '+' || input[exponent] == '-')) {
+				exponent++;
+			}
+			if(exponent < length && isDigit(input[exponent])) {
+				pos = exponent;
+				skipDigits();
+			}
+		}
+		int end = pos;
+		if(!endOfToken(context)) {
+			return FALLBACK;
+		}
+		return Double.parseDouble(new String(input, start, end - start));
+	}
+
+	/**
+	 * Double quoted string, positioned after the opening quote. Mirrors the lexer: {@code \t \n \r \"} are unescaped,
+	 * any other backslash is kept, {@code $$} and interpolations are kept verbatim.
+	 */
+	private Object string() {
+		StringBuilder value = text;
+		value.setLength(0);
+		while(pos < length) {
+			char c = input[pos];
+			if(c == '"') {
+				pos++;
+				return value.toString();
+			} else if(c == '\\') {
+				char next = pos + 1 < length ? input[pos + 1] : 0;
+				if(next == 't') {
+					value.append('\t');
+					pos += 2;
+				} else if(next == 'n') {
+					value.append('\n');
+					pos += 2;
+				} else if(next == 'r') {
+					value.append('\r');
+					pos += 2;
+				} else if(next == '"') {
+					value.append('"');
+					pos += 2;
+				} else {
+					value.append('\\');
+					pos++;
+				}
+			} else if(c == '$') {
+				if(pos + 1 >= length) {
+					return FALLBACK;
+				}
+				char next = input[pos + 1];
+				if(next == '{') {
+					value.append('$');
+					pos++;
+					if(!interpolation(value)) {
+						return FALLBACK;
+					}
+				} else if(next == '"') {
+					value.append('$');
+					pos++;
+				} else {
+					value.append(c).append(next);
+					pos += 2;
+				}
+			} else if(c == '\n' || c == '\r') {
+				return FALLBACK;
+			} else {
+				int start = pos;
+				while(pos < length && (c = input[pos]) != '"' && c != '\\' && c != '$' && c != '\n' && c != '\r') {
+					pos++;
+				}
+				value.append(input, start, pos - start);
+			}
+		}
+		return FALLBACK;
+	}
+
+	private boolean interpolation(StringBuilder value) {
+		int depth = 0;
+		int start = pos;
+		while(pos < length) {
+			char c = input[pos++];
+			if(c == '{') {
+				depth++;
+			} else if(c == '}') {
+				if(--depth == 0) {
+					value.append(input, start, pos - start);
+					return true;
+				}
+			} else if(c == '\\') {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Heredoc, positioned on the {@code <<}. The lexer trims every line for both the plain and the indented form and
+	 * drops the line terminator directly after the marker.
+	 */
+	private Object heredoc() {
+		if(!input("<<")) {
+			return FALLBACK;
+		}
+		pos += 2;
+		if(pos < length && (input[pos] == '-' || input[pos] == '~' || input[pos] == ' ')) {
+			pos++;
+		}
+		String marker = name();
+		if(marker == null || !lineTerminator()) {
+			return FALLBACK;
+		}
+		StringBuilder value = text;
+		value.setLength(0);
+		while(pos < length) {
+			int lineStart = pos;
+			if(input[pos] == '\n' || input[pos] == '\r') {
+				lineTerminator();
+				value.append(input, lineStart, pos - lineStart);
+				continue;
+			}
+			while(pos < length && input[pos] != '\n' && input[pos] != '\r') {
+				pos++;
+			}
+			int start = lineStart;
+			int end = pos;
+			while(start < end && input[start] <= ' ') {
+				start++;
+			}
+			while(end > start && input[end - 1] <= ' ') {
+				end--;
+			}
+			if(end - start == marker.length() && regionMatches(start, marker)) {
+				return value.toString();
+			}
+			value.append(input, start, end - start);
+		}
+		return FALLBACK;
+	}
+
+	private Object array() {
+		List<Object> values = new ArrayList<>();
+		while(pos < length) {
+			char c = input[pos];
+			if(c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ',') {
+				pos++;
+			} else if(c == ']') {
+				pos++;
+				return values;
+			} else if(c == '#' || (c == '/' && pos + 1 < length && input[pos + 1] == '/')) {
+				skipLine();
+			} else {
+				Object value = value(ARRAY);
+				if(value == FALLBACK) {
+					return FALLBACK;
+				}
+				values.add(value);
+			}
+		}
+		return FALLBACK;
+	}
+
+	/**
+	 * Object value, positioned after the {@code {}. Only the forms the lexer reads as a nested block are accepted: an
+	 * empty {@code {}} or a brace at the end of the line followed by {@code key = value} lines.
+	 */
+	private Object object() {
+		skipSpaces();
+		if(pos < length && input[pos] == '}') {
+			pos++;
+			return new LinkedHashMap<String,Object>();
+		}
+		if(pos >= length || (input[pos] != '\n' && input[pos] != '\r')) {
+			return FALLBACK;
+		}
+		Map<String,Object> values = new LinkedHashMap<>();
+		while(true) {
+			if(!skipTrivia()) {
+				return FALLBACK;
+			}
+			if(pos >= length) {
+				return FALLBACK;
+			}
+			if(input[pos] == '}') {
+				pos++;
+				return values;
+			}
+			if(!attribute(values, BLOCK)) {
+				return FALLBACK;
+			}
+		}
+	}
+
+	/**
+	 * Skips whitespace, line terminators and comments between attributes.
+	 * @return false if a block comment is not terminated
+	 */
+	private boolean skipTrivia() {
+		while(pos < length) {
+			char c = input[pos];
+			if(c == ' ' || c == '\t' || c == '\f' || c == '\r' || c == '\n') {
+				pos++;
+			} else if(c == '#' || (c == '/' && pos + 1 < length && input[pos + 1] == '/')) {
+				skipLine();
+			} else if(c == '/' && pos + 1 < length && input[pos + 1] == '*') {
+				int end = indexOf("*/", pos + 2);
+				if(end < 0) {
+					return false;
+				}
+				pos = end + 2;
+			} else {
+				return true;
+			}
+		}
+		return true;
+	}
+
+	private void skipLine() {
+		while(pos < length && input[pos] != '\n' && input[pos] != '\r') {
+			pos++;
+		}
+		lineTerminator();
+	}
+
+	private boolean lineTerminator() {
+		if(pos < length && input[pos] == '\r') {
+			pos++;
+			if(pos < length && input[pos] == '\n') {
+				pos++;
+			}
+			return true;
+		} else if(pos < length && input[pos] == '\n') {
+			pos++;
+			return true;
+		}
+		return false;
+	}
+
+	private void skipSpaces() {
+		while(pos < length && (input[pos] == ' ' || input[pos] == '\t' || input[pos] == '\f')) {
+			pos++;
+		}
+	}
+
+	private void skipDigits() {
+		while(pos < length && isDigit(input[pos])) {
+			pos++;
+		}
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Attribute name as matched by the lexer: a Java identifier start followed by ASCII letters, digits, dashes and
+	 * underscores.
+	 */
+	private String name() {
+		if(pos >= length || !Character.isJavaIdentifierStart(input[pos])) {
+			return null;
+		}
+		int start = pos++;
+		while(pos < length) {
+			char c = input[pos];
+			if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '-' || c == '_') {
+				pos++;
+			} else {
+				break;
+			}
+		}
+		return new String(input, start, pos - start);
+	}
+
+	private boolean input(String expected) {
+		return pos + expected.length() <= length && regionMatches(pos, expected);
+	}
+
+	private boolean regionMatches(int offset, String expected) {
+		for(int i = 0; i < expected.length(); i++) {
+			if(input[offset + i] != expected.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int indexOf(String expected, int from) {
+		for(int i = from; i + expected.length() <= length; i++) {
+			if(input[i] == expected.charAt(0) && input[i + 1] == expected.charAt(1)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.binding;
+
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The precomputed binding of one target class: its constructor and property setters as {@link MethodHandle}s
+ * already adapted to exact types, plus a {@link ValueBinder} per property. A plan is built once per class by
+ * {@link HCLBinder} and is immutable afterwards, so binding never touches {@code java.lang.reflect}.
+ */
+final class BindingPlan {
+	static final int OBJECT = 0;
+	static final int INT = 1;
+	static final int LONG = 2;
+	static final int DOUBLE = 3;
+	static final int BOOLEAN = 4;
+	static final int FLOAT = 5;
+	static final int SHORT = 6;
+	static final int BYTE = 7;
+
+	final Class<?> type;
+	final Map<String, Property> properties;
+	final Property[] labels;
+	final int propertyCount;
+
+	/**
+	 * {@code ()Object} for classes, {@code (Object[])Object} (spread over the canonical constructor) for records.
+	 */
+	final MethodHandle constructor;
+	final boolean record;
+	final Object[] recordDefaults;
+
+	BindingPlan(Class<?> type, Map<String, Property> properties, Property[] labels, int propertyCount,
+	            MethodHandle constructor, boolean record, Object[] recordDefaults) {
+		this.type = type;
+		this.properties = properties;
+		this.labels = labels;
+		this.propertyCount = propertyCount;
+		this.constructor = constructor;
+		this.record = record;
+		this.recordDefaults = recordDefaults;
+	}
+
+	Object bind(List<Symbol> children, List<String> labelValues, Symbol source) throws HCLParserException {
+		Object[] values = record ? recordDefaults.clone() : null;
+		Object target = record ? null : newInstance(source);
+		Object[] accumulators = null;
+
+		int labelCount = Math.min(labelValues.size(), labels.length);
+		for(int i = 0; i < labelCount; i++) {
+			Property label = labels[i];
+			if(label != null) {
+				Object value = label.bindLabel(labelValues.get(i), source);
+				if(record) {
+					values[label.index] = value;
+				} else {
+					label.setObject(target, value);
+				}
+			}
+		}
+
+		for(int i = 0, size = children.size(); i < size; i++) {
+			Symbol child = children.get(i);
+			Property property = properties.get(child.getName());
+			if(property == null) {
+				continue;
+			}
+			if(child instanceof HCLBlock && property.binder.accumulatesBlocks()) {
+				if(accumulators == null) {
+					accumulators = new Object[propertyCount];
+				}
+				Object accumulator = accumulators[property.index];
+				if(accumulator == null) {
+					accumulator = property.binder.newAccumulator();
+					accumulators[property.index] = accumulator;
+				}
+				property.binder.accumulate(accumulator, (HCLBlock) child, 1);
+				continue;
+			}
+			Symbol value = child instanceof HCLAttribute ? ValueBinder.firstChild(child) : child;
+			if(record) {
+				Object bound = property.binder.bind(value);
+				if(bound != null || property.nullable) {
+					values[property.index] = bound;
+				}
+			} else {
+				property.set(target, value);
+			}
+		}
+
+		if(accumulators != null) {
+			for(Property property : properties.values()) {
+				Object accumulator = accumulators[property.index];
+				if(accumulator != null) {
+					accumulators[property.index] = null;
+					Object value = property.binder.finish(accumulator);
+					if(record) {
+						values[property.index] = value;
+					} else {
+						property.setObject(target, value);
+					}
+				}
+			}
+		}
+		return record ? newRecord(values, source) : target;
+	}
+
+	private Object newInstance(Symbol source) throws HCLParserException {
+		try {
+			return (Object) constructor.invokeExact();
+		} catch(Throwable t) {
+			throw failure("Cannot instantiate " + type.getName(), t, source);
+		}
+	}
+
+	private Object newRecord(Object[] values, Symbol source) throws HCLParserException {
+		try {
+			return (Object) constructor.invokeExact(values);
+		} catch(Throwable t) {
+			throw failure("Cannot instantiate " + type.getName(), t, source);
+		}
+	}
+
+	static HCLParserException failure(String message, Throwable t, Symbol source) {
+		if(t instanceof HCLParserException) {
+			return (HCLParserException) t;
+		} else if(t instanceof Error) {
+			throw (Error) t;
+		}
+		HCLParserException ex = ValueBinder.error(message, source);
+		ex.initCause(t);
+		return ex;
+	}
+
+	/**
+	 * One bindable field or record component. Setters of primitive properties are kept primitive so their values
+	 * are never boxed.
+	 */
+	static final class Property {
+		final String name;
+		final int index;
+		final ValueBinder binder;
+		final MethodHandle setter;
+		final int primitive;
+		final boolean nullable;
+
+		Property(String name, int index, ValueBinder binder, MethodHandle setter, int primitive, boolean nullable) {
+			this.name = name;
+			this.index = index;
+			this.binder = binder;
+			this.setter = setter;
+			this.primitive = primitive;
+			this.nullable = nullable;
+		}
+
+		void set(Object target, Symbol value) throws HCLParserException {
+			if(!nullable && ValueBinder.isNull(value)) {
+				return;
+			}
+			try {
+				switch(primitive) {
+					case INT:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindInt(value));
+						break;
+					case LONG:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindLong(value));
+						break;
+					case DOUBLE:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindDouble(value));
+						break;
+					case BOOLEAN:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindBoolean(value));
+						break;
+					case FLOAT:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindFloat(value));
+						break;
+					case SHORT:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindShort(value));
+						break;
+					case BYTE:
+						setter.invokeExact(target, ((ValueBinder.ScalarBinder) binder).bindByte(value));
+						break;
+					default:
+						setter.invokeExact(target, binder.bind(value));
+				}
+			} catch(Throwable t) {
+				throw failure("Cannot set '" + name + "'", t, value);
+			}
+		}
+
+		void setObject(Object target, Object value) throws HCLParserException {
+			if(!nullable && value == null) {
+				return;
+			}
+			try {
+				switch(primitive) {
+					case INT:
+						setter.invokeExact(target, ((Number) value).intValue());
+						break;
+					case LONG:
+						setter.invokeExact(target, ((Number) value).longValue());
+						break;
+					case DOUBLE:
+						setter.invokeExact(target, ((Number) value).doubleValue());
+						break;
+					case BOOLEAN:
+						setter.invokeExact(target, ((Boolean) value).booleanValue());
+						break;
+					case FLOAT:
+						setter.invokeExact(target, ((Number) value).floatValue());
+						break;
+					case SHORT:
+						setter.invokeExact(target, ((Number) value).shortValue());
+						break;
+					case BYTE:
+						setter.invokeExact(target, ((Number) value).byteValue());
+						break;
+					default:
+						setter.invokeExact(target, value);
+				}
+			} catch(Throwable t) {
+				throw failure("Cannot set '" + name + "'", t, null);
+			}
+		}
+
+		Object bindLabel(String label, Symbol source) throws HCLParserException {
+			if(binder instanceof ValueBinder.ScalarBinder) {
+				return ((ValueBinder.ScalarBinder) binder).bindText(label, source);
+			}
+			return ((ValueBinder.EnumBinder) binder).bindText(label, source);
+		}
+	}
+}
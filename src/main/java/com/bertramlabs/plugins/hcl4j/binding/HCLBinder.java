@@ -0,0 +1,440 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.binding;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Binds parsed HCL directly onto plain Java objects and records without going through the
+ * {@code Map<String,Object>} representation returned by {@link com.bertramlabs.plugins.hcl4j.HCLParser#parse}.
+ * <p>
+ *     Reflection is only used once per target class to build a binding plan of {@link MethodHandle}s; the plan is
+ *     cached, so repeated binds of the same type only run the precomputed setters. Properties are matched by field
+ *     name or its snake_case form (overridable with {@link HCLName}), block labels are bound with {@link HCLLabel},
+ *     and repeated blocks are collected into {@code List}, {@code Set}, array or label keyed {@code Map} properties.
+ *     Unknown attributes and blocks are ignored.
+ * </p>
+ * <pre>
+ * {@code
+ * HCLConfiguration config = new HCLParser().parseConfiguration(file);
+ * Settings settings = new HCLBinder().bind(config, Settings.class);
+ * }
+ * </pre>
+ * An {@code HCLBinder} is thread safe and meant to be shared.
+ */
+public class HCLBinder {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final MethodType RECORD_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private final ConcurrentMap<Class<?>, BindingPlan> plans = new ConcurrentHashMap<>();
+
+	/**
+	 * Binds the root attributes and blocks of a parsed configuration onto a new instance of the given type.
+	 * @param configuration the parsed configuration
+	 * @param type a class with a no-arg constructor, or a record
+	 * @return the bound instance
+	 * @throws HCLParserException if a value can not be converted to its property type
+	 */
+	public <T> T bind(HCLConfiguration configuration, Class<T> type) throws HCLParserException {
+		List<Symbol> children = new ArrayList<>(configuration.getAttributes().size() + configuration.getBlocks().size());
+		children.addAll(configuration.getAttributes());
+		children.addAll(configuration.getBlocks());
+		return type.cast(planFor(type).bind(children, Collections.<String>emptyList(), null));
+	}
+
+	/**
+	 * Binds the body and labels of a single block onto a new instance of the given type.
+	 * @param block the block to bind
+	 * @param type a class with a no-arg constructor, or a record
+	 * @return the bound instance
+	 * @throws HCLParserException if a value can not be converted to its property type
+	 */
+	public <T> T bind(HCLBlock block, Class<T> type) throws HCLParserException {
+		List<String> blockNames = block.blockNames;
+		return type.cast(planFor(type).bind(block.getChildren(), blockNames.subList(1, blockNames.size()), block));
+	}
+
+	/**
+	 * Binds every root block of the given block type, e.g. all {@code variable} blocks.
+	 * @param configuration the parsed configuration
+	 * @param blockType the first block name to match
+	 * @param type a class with a no-arg constructor, or a record
+	 * @return the bound instances in document order
+	 * @throws HCLParserException if a value can not be converted to its property type
+	 */
+	public <T> List<T> bindBlocks(HCLConfiguration configuration, String blockType, Class<T> type) throws HCLParserException {
+		List<T> results = new ArrayList<>();
+		for(HCLBlock block : configuration.getBlocks()) {
+			if(blockType.equals(block.getName())) {
+				results.add(bind(block, type));
+			}
+		}
+		return results;
+	}
+
+	BindingPlan planFor(Class<?> type) throws HCLParserException {
+		BindingPlan plan = plans.get(type);
+		if(plan == null) {
+			plan = createPlan(type);
+			BindingPlan existing = plans.putIfAbsent(type, plan);
+			if(existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+	private BindingPlan createPlan(Class<?> type) throws HCLParserException {
+		if(type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isPrimitive() || type.isArray()) {
+			throw new HCLParserException("Cannot bind HCL onto " + type.getName() + ": not a concrete class");
+		}
+		try {
+			Method getRecordComponents = recordComponentsMethod(type);
+			if(getRecordComponents != null) {
+				return createRecordPlan(type, getRecordComponents);
+			}
+			return createClassPlan(type);
+		} catch(ReflectiveOperationException | SecurityException ex) {
+			throw new HCLParserException("Cannot bind HCL onto " + type.getName(), ex);
+		}
+	}
+
+	private BindingPlan createClassPlan(Class<?> type) throws ReflectiveOperationException, HCLParserException {
+		Constructor<?> constructor;
+		try {
+			constructor = type.getDeclaredConstructor();
+		} catch(NoSuchMethodException ex) {
+			throw new HCLParserException("Cannot bind HCL onto " + type.getName() + ": no no-arg constructor", ex);
+		}
+		constructor.setAccessible(true);
+		MethodHandle constructorHandle = LOOKUP.unreflectConstructor(constructor).asFixedArity().asType(CONSTRUCTOR_TYPE);
+
+		Map<String, BindingPlan.Property> properties = new HashMap<>();
+		List<BindingPlan.Property> labels = new ArrayList<>();
+		int index = 0;
+		for(Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			for(Field field : current.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+					continue;
+				}
+				Type genericType = field.getGenericType();
+				ValueBinder binder = binderFor(genericType);
+				int primitive = primitiveKind(field.getType());
+				MethodHandle setter = setterFor(type, field).asType(setterType(primitive));
+				BindingPlan.Property property = new BindingPlan.Property(field.getName(), index++, binder, setter, primitive,
+					!field.getType().isPrimitive());
+				register(property, field, field.getName(), properties, labels);
+			}
+		}
+		return new BindingPlan(type, properties, labels.toArray(new BindingPlan.Property[labels.size()]), index,
+			constructorHandle, false, null);
+	}
+
+	private BindingPlan createRecordPlan(Class<?> type, Method getRecordComponents) throws ReflectiveOperationException, HCLParserException {
+		Object[] components = (Object[]) getRecordComponents.invoke(type);
+		Class<?>[] parameterTypes = new Class<?>[components.length];
+		Object[] defaults = new Object[components.length];
+		Map<String, BindingPlan.Property> properties = new HashMap<>();
+		List<BindingPlan.Property> labels = new ArrayList<>();
+		for(int i = 0; i < components.length; i++) {
+			Class<?> componentClass = components[i].getClass();
+			String name = (String) componentClass.getMethod("getName").invoke(components[i]);
+			parameterTypes[i] = (Class<?>) componentClass.getMethod("getType").invoke(components[i]);
+			Type genericType = (Type) componentClass.getMethod("getGenericType").invoke(components[i]);
+			defaults[i] = defaultValue(parameterTypes[i]);
+			BindingPlan.Property property = new BindingPlan.Property(name, i, binderFor(genericType), null, BindingPlan.OBJECT,
+				!parameterTypes[i].isPrimitive());
+			// component annotations are propagated to the private field the compiler generates
+			register(property, type.getDeclaredField(name), name, properties, labels);
+		}
+		Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+		constructor.setAccessible(true);
+		MethodHandle constructorHandle = LOOKUP.unreflectConstructor(constructor).asFixedArity()
+			.asSpreader(Object[].class, components.length).asType(RECORD_CONSTRUCTOR_TYPE);
+		return new BindingPlan(type, properties, labels.toArray(new BindingPlan.Property[labels.size()]), components.length,
+			constructorHandle, true, defaults);
+	}
+
+	private static void register(BindingPlan.Property property, AnnotatedElement element, String name,
+	                             Map<String, BindingPlan.Property> properties, List<BindingPlan.Property> labels) throws HCLParserException {
+		HCLLabel label = element.getAnnotation(HCLLabel.class);
+		if(label != null) {
+			if(!(property.binder instanceof ValueBinder.ScalarBinder) && !(property.binder instanceof ValueBinder.EnumBinder)) {
+				throw new HCLParserException("Block label property '" + name + "' must be a string, number, boolean or enum");
+			}
+			while(labels.size() <= label.value()) {
+				labels.add(null);
+			}
+			labels.set(label.value(), property);
+			return;
+		}
+		HCLName hclName = element.getAnnotation(HCLName.class);
+		if(hclName != null) {
+			properties.put(hclName.value(), property);
+			return;
+		}
+		properties.put(name, property);
+		String snakeCase = toSnakeCase(name);
+		if(!snakeCase.equals(name) && !properties.containsKey(snakeCase)) {
+			properties.put(snakeCase, property);
+		}
+	}
+
+	private static MethodHandle setterFor(Class<?> type, Field field) throws IllegalAccessException {
+		String setterName = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+		try {
+			Method method = type.getMethod(setterName, field.getType());
+			if(!Modifier.isStatic(method.getModifiers())) {
+				method.setAccessible(true);
+				// groovy and varargs setters would otherwise collect the bound value into an array
+				return LOOKUP.unreflect(method).asFixedArity();
+			}
+		} catch(NoSuchMethodException ex) {
+			// no public setter, fall back to the field
+		}
+		field.setAccessible(true);
+		return LOOKUP.unreflectSetter(field);
+	}
+
+	private static Method recordComponentsMethod(Class<?> type) {
+		Class<?> superclass = type.getSuperclass();
+		if(superclass == null || !"java.lang.Record".equals(superclass.getName())) {
+			return null;
+		}
+		try {
+			return Class.class.getMethod("getRecordComponents");
+		} catch(NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+	ValueBinder binderFor(Type type) throws HCLParserException {
+		if(type instanceof Class) {
+			Class<?> clazz = (Class<?>) type;
+			if(clazz.isArray()) {
+				Class<?> component = clazz.getComponentType();
+				return collectionBinder(binderFor(component), List.class, component);
+			} else if(Collection.class.isAssignableFrom(clazz)) {
+				return collectionBinder(new ValueBinder.GenericBinder(), clazz, null);
+			} else if(Map.class.isAssignableFrom(clazz)) {
+				return new ValueBinder.MapBinder(new ValueBinder.GenericBinder());
+			}
+			return simpleBinderFor(clazz);
+		} else if(type instanceof ParameterizedType) {
+			ParameterizedType parameterized = (ParameterizedType) type;
+			Class<?> raw = (Class<?>) parameterized.getRawType();
+			Type[] arguments = parameterized.getActualTypeArguments();
+			if(Collection.class.isAssignableFrom(raw)) {
+				return collectionBinder(binderFor(arguments[0]), raw, null);
+			} else if(Map.class.isAssignableFrom(raw)) {
+				if(arguments[0] != String.class && arguments[0] != Object.class) {
+					throw new HCLParserException("Cannot bind HCL onto " + type + ": map keys must be strings");
+				}
+				return new ValueBinder.MapBinder(binderFor(arguments[1]));
+			}
+			return simpleBinderFor(raw);
+		} else if(type instanceof GenericArrayType) {
+			Type component = ((GenericArrayType) type).getGenericComponentType();
+			return collectionBinder(binderFor(component), List.class, erase(component));
+		}
+		return binderFor(erase(type));
+	}
+
+	/**
+	 * Picks the collection class a property of the given declared type is filled with: the declared class itself if it
+	 * is concrete, otherwise {@code ArrayList}, {@code LinkedHashSet}, {@code TreeSet} or {@code ArrayDeque} for the
+	 * list, set, sorted set and queue interfaces. Other abstract types are rejected when the plan is built.
+	 */
+	private static ValueBinder collectionBinder(ValueBinder elementBinder, Class<?> collectionType, Class<?> arrayComponent)
+		throws HCLParserException {
+		Class<?> concrete;
+		if(!collectionType.isInterface() && !Modifier.isAbstract(collectionType.getModifiers())) {
+			concrete = collectionType;
+		} else if(collectionType.isAssignableFrom(ArrayList.class)) {
+			concrete = ArrayList.class;
+		} else if(collectionType.isAssignableFrom(LinkedHashSet.class)) {
+			concrete = LinkedHashSet.class;
+		} else if(collectionType.isAssignableFrom(TreeSet.class)) {
+			concrete = TreeSet.class;
+		} else if(collectionType.isAssignableFrom(ArrayDeque.class)) {
+			concrete = ArrayDeque.class;
+		} else {
+			throw new HCLParserException("Cannot bind HCL onto " + collectionType.getName() + ": no known implementation");
+		}
+		MethodHandle factory;
+		try {
+			factory = LOOKUP.findConstructor(concrete, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+		} catch(NoSuchMethodException | IllegalAccessException ex) {
+			throw new HCLParserException("Cannot bind HCL onto " + collectionType.getName() + ": no public no-arg constructor", ex);
+		}
+		return new ValueBinder.CollectionBinder(elementBinder, collectionType, arrayComponent, factory);
+	}
+
+	private ValueBinder simpleBinderFor(Class<?> clazz) {
+		if(clazz == String.class || clazz == CharSequence.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.STRING, clazz);
+		} else if(clazz == int.class || clazz == Integer.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.INT, clazz);
+		} else if(clazz == long.class || clazz == Long.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.LONG, clazz);
+		} else if(clazz == double.class || clazz == Double.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.DOUBLE, clazz);
+		} else if(clazz == float.class || clazz == Float.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.FLOAT, clazz);
+		} else if(clazz == short.class || clazz == Short.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.SHORT, clazz);
+		} else if(clazz == byte.class || clazz == Byte.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.BYTE, clazz);
+		} else if(clazz == boolean.class || clazz == Boolean.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.BOOLEAN, clazz);
+		} else if(clazz == BigDecimal.class || clazz == Number.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.BIG_DECIMAL, clazz);
+		} else if(clazz == BigInteger.class) {
+			return new ValueBinder.ScalarBinder(ValueBinder.ScalarBinder.BIG_INTEGER, clazz);
+		} else if(clazz.isEnum()) {
+			return new ValueBinder.EnumBinder(clazz);
+		} else if(clazz == Object.class) {
+			return new ValueBinder.GenericBinder();
+		} else if(Symbol.class.isAssignableFrom(clazz)) {
+			return new ValueBinder.SymbolBinder(clazz);
+		}
+		return new ValueBinder.ObjectBinder(clazz, this);
+	}
+
+	private static Class<?> erase(Type type) {
+		if(type instanceof Class) {
+			return (Class<?>) type;
+		} else if(type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		} else if(type instanceof GenericArrayType) {
+			return java.lang.reflect.Array.newInstance(erase(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		} else if(type instanceof WildcardType) {
+			return erase(((WildcardType) type).getUpperBounds()[0]);
+		} else if(type instanceof TypeVariable) {
+			return erase(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	private static int primitiveKind(Class<?> type) {
+		if(type == int.class) {
+			return BindingPlan.INT;
+		} else if(type == long.class) {
+			return BindingPlan.LONG;
+		} else if(type == double.class) {
+			return BindingPlan.DOUBLE;
+		} else if(type == boolean.class) {
+			return BindingPlan.BOOLEAN;
+		} else if(type == float.class) {
+			return BindingPlan.FLOAT;
+		} else if(type == short.class) {
+			return BindingPlan.SHORT;
+		} else if(type == byte.class) {
+			return BindingPlan.BYTE;
+		}
+		return BindingPlan.OBJECT;
+	}
+
+	private static MethodType setterType(int primitive) {
+		switch(primitive) {
+			case BindingPlan.INT:
+				return MethodType.methodType(void.class, Object.class, int.class);
+			case BindingPlan.LONG:
+				return MethodType.methodType(void.class, Object.class, long.class);
+			case BindingPlan.DOUBLE:
+				return MethodType.methodType(void.class, Object.class, double.class);
+			case BindingPlan.BOOLEAN:
+				return MethodType.methodType(void.class, Object.class, boolean.class);
+			case BindingPlan.FLOAT:
+				return MethodType.methodType(void.class, Object.class, float.class);
+			case BindingPlan.SHORT:
+				return MethodType.methodType(void.class, Object.class, short.class);
+			case BindingPlan.BYTE:
+				return MethodType.methodType(void.class, Object.class, byte.class);
+			default:
+				return MethodType.methodType(void.class, Object.class, Object.class);
+		}
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if(!type.isPrimitive()) {
+			return null;
+		} else if(type == boolean.class) {
+			return Boolean.FALSE;
+		} else if(type == char.class) {
+			return '\0';
+		} else if(type == long.class) {
+			return 0L;
+		} else if(type == double.class) {
+			return 0d;
+		} else if(type == float.class) {
+			return 0f;
+		} else if(type == short.class) {
+			return (short) 0;
+		} else if(type == byte.class) {
+			return (byte) 0;
+		}
+		return 0;
+	}
+
+	static String toSnakeCase(String name) {
+		StringBuilder result = new StringBuilder(name.length() + 4);
+		for(int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if(Character.isUpperCase(c)) {
+				if(i > 0) {
+					result.append('_');
+				}
+				result.append(Character.toLowerCase(c));
+			} else {
+				result.append(c);
+			}
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.binding;
+
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.Variable;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLArray;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLMap;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a value symbol (the first child of an attribute, or a nested block) into a value of one Java type.
+ * Binders are created once per property type when a {@link BindingPlan} is built and are reused for every bind.
+ */
+abstract class ValueBinder {
+
+	abstract Object bind(Symbol value) throws HCLParserException;
+
+	/**
+	 * @return true if repeated nested blocks of the same name are collected into one value (lists, sets, maps)
+	 */
+	boolean accumulatesBlocks() {
+		return false;
+	}
+
+	Object newAccumulator() throws HCLParserException {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Adds a nested block to an accumulator created by {@link #newAccumulator()}.
+	 * @param labelIndex index into {@link HCLBlock#blockNames} of the next label not consumed yet
+	 */
+	void accumulate(Object accumulator, HCLBlock block, int labelIndex) throws HCLParserException {
+		throw new UnsupportedOperationException();
+	}
+
+	Object finish(Object accumulator) {
+		return accumulator;
+	}
+
+	static HCLParserException error(String message, Symbol symbol) {
+		if(symbol != null && symbol.getLine() != null) {
+			return new HCLParserException(message + " on line: " + (symbol.getLine() + 1));
+		}
+		return new HCLParserException(message);
+	}
+
+	static boolean isNull(Symbol value) {
+		return value == null || (value instanceof HCLValue && ((HCLValue) value).getValue() == null);
+	}
+
+	/**
+	 * Strings, numbers and booleans including their primitive forms, converted straight from the lexer text so
+	 * numbers are never routed through {@link Double}.
+	 */
+	static final class ScalarBinder extends ValueBinder {
+		static final int STRING = 0;
+		static final int INT = 1;
+		static final int LONG = 2;
+		static final int DOUBLE = 3;
+		static final int FLOAT = 4;
+		static final int SHORT = 5;
+		static final int BYTE = 6;
+		static final int BOOLEAN = 7;
+		static final int BIG_DECIMAL = 8;
+		static final int BIG_INTEGER = 9;
+
+		final int kind;
+		final Class<?> type;
+
+		ScalarBinder(int kind, Class<?> type) {
+			this.kind = kind;
+			this.type = type;
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			String text = text(value);
+			return text == null ? null : bindText(text, value);
+		}
+
+		Object bindText(String text, Symbol source) throws HCLParserException {
+			try {
+				switch(kind) {
+					case STRING:
+						return text;
+					case INT:
+						return toInt(text);
+					case LONG:
+						return toLong(text);
+					case DOUBLE:
+						return Double.parseDouble(text);
+					case FLOAT:
+						return Float.parseFloat(text);
+					case SHORT:
+						return toShort(text);
+					case BYTE:
+						return toByte(text);
+					case BOOLEAN:
+						return toBoolean(text, source);
+					case BIG_DECIMAL:
+						return new BigDecimal(text);
+					default:
+						return new BigDecimal(text).toBigIntegerExact();
+				}
+			} catch(NumberFormatException | ArithmeticException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to " + type.getSimpleName() + lineOf(source), ex);
+			}
+		}
+
+		int bindInt(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return toInt(text);
+			} catch(NumberFormatException | ArithmeticException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to int" + lineOf(value), ex);
+			}
+		}
+
+		long bindLong(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return toLong(text);
+			} catch(NumberFormatException | ArithmeticException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to long" + lineOf(value), ex);
+			}
+		}
+
+		double bindDouble(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return Double.parseDouble(text);
+			} catch(NumberFormatException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to double" + lineOf(value), ex);
+			}
+		}
+
+		float bindFloat(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return Float.parseFloat(text);
+			} catch(NumberFormatException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to float" + lineOf(value), ex);
+			}
+		}
+
+		short bindShort(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return toShort(text);
+			} catch(NumberFormatException | ArithmeticException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to short" + lineOf(value), ex);
+			}
+		}
+
+		byte bindByte(Symbol value) throws HCLParserException {
+			String text = text(value);
+			try {
+				return toByte(text);
+			} catch(NumberFormatException | ArithmeticException ex) {
+				throw new HCLParserException("Cannot bind '" + text + "' to byte" + lineOf(value), ex);
+			}
+		}
+
+		boolean bindBoolean(Symbol value) throws HCLParserException {
+			return toBoolean(text(value), value);
+		}
+
+		private static String text(Symbol value) throws HCLParserException {
+			if(value == null) {
+				return null;
+			} else if(value instanceof HCLValue) {
+				Object raw = ((HCLValue) value).getValue();
+				return raw == null ? null : raw.toString();
+			} else if(value instanceof Variable) {
+				return value.getName();
+			}
+			throw error("Cannot bind " + value.getSymbolName() + " to a scalar value", value);
+		}
+
+		private static int toInt(String text) {
+			try {
+				return Integer.parseInt(text);
+			} catch(NumberFormatException ex) {
+				return new BigDecimal(text).intValueExact();
+			}
+		}
+
+		private static long toLong(String text) {
+			try {
+				return Long.parseLong(text);
+			} catch(NumberFormatException ex) {
+				return new BigDecimal(text).longValueExact();
+			}
+		}
+
+		private static short toShort(String text) {
+			try {
+				return Short.parseShort(text);
+			} catch(NumberFormatException ex) {
+				return new BigDecimal(text).shortValueExact();
+			}
+		}
+
+		private static byte toByte(String text) {
+			try {
+				return Byte.parseByte(text);
+			} catch(NumberFormatException ex) {
+				return new BigDecimal(text).byteValueExact();
+			}
+		}
+
+		private static boolean toBoolean(String text, Symbol source) throws HCLParserException {
+			if("true".equals(text)) {
+				return true;
+			} else if("false".equals(text)) {
+				return false;
+			}
+			throw new HCLParserException("Cannot bind '" + text + "' to boolean" + lineOf(source));
+		}
+
+		private static String lineOf(Symbol symbol) {
+			return symbol == null || symbol.getLine() == null ? "" : " on line: " + (symbol.getLine() + 1);
+		}
+	}
+
+	static final class EnumBinder extends ValueBinder {
+		final Class<?> type;
+		final Enum<?>[] constants;
+
+		EnumBinder(Class<?> type) {
+			this.type = type;
+			this.constants = (Enum<?>[]) type.getEnumConstants();
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			Object text = new ScalarBinder(ScalarBinder.STRING, String.class).bind(value);
+			return text == null ? null : bindText((String) text, value);
+		}
+
+		Object bindText(String text, Symbol source) throws HCLParserException {
+			for(Enum<?> constant : constants) {
+				if(constant.name().equals(text) || constant.name().equalsIgnoreCase(text.replace('-', '_'))) {
+					return constant;
+				}
+			}
+			throw error("Cannot bind '" + text + "' to " + type.getSimpleName(), source);
+		}
+	}
+
+	/**
+	 * Lists, sets, queues and arrays. They bind from an HCL array value or collect repeated nested blocks.
+	 */
+	static final class CollectionBinder extends ValueBinder {
+		final ValueBinder elementBinder;
+		final Class<?> collectionType;
+		final Class<?> arrayComponent;
+		/**
+		 * {@code ()Object}, creates an empty instance of the concrete collection class chosen by {@link HCLBinder}.
+		 */
+		final MethodHandle factory;
+
+		CollectionBinder(ValueBinder elementBinder, Class<?> collectionType, Class<?> arrayComponent, MethodHandle factory) {
+			this.elementBinder = elementBinder;
+			this.collectionType = collectionType;
+			this.arrayComponent = arrayComponent;
+			this.factory = factory;
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			if(isNull(value)) {
+				return null;
+			}
+			Collection<Object> elements = newAccumulator();
+			if(value instanceof HCLArray) {
+				for(Symbol child : value.getChildren()) {
+					elements.add(elementBinder.bind(child));
+				}
+			} else {
+				elements.add(elementBinder.bind(value));
+			}
+			return finish(elements);
+		}
+
+		@Override
+		boolean accumulatesBlocks() {
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		Collection<Object> newAccumulator() throws HCLParserException {
+			try {
+				return (Collection<Object>) (Object) factory.invokeExact();
+			} catch(Throwable t) {
+				throw BindingPlan.failure("Cannot instantiate " + collectionType.getName(), t, null);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void accumulate(Object accumulator, HCLBlock block, int labelIndex) throws HCLParserException {
+			((Collection<Object>) accumulator).add(elementBinder.bind(block));
+		}
+
+		@Override
+		Object finish(Object accumulator) {
+			if(arrayComponent == null) {
+				return accumulator;
+			}
+			Collection<?> elements = (Collection<?>) accumulator;
+			Object array = Array.newInstance(arrayComponent, elements.size());
+			int index = 0;
+			for(Object element : elements) {
+				Array.set(array, index++, element);
+			}
+			return array;
+		}
+	}
+
+	/**
+	 * {@code Map<String, V>} properties. They bind from an object value or collect labeled blocks keyed by label,
+	 * one map level per label (e.g. {@code Map<String, Map<String, Resource>>} for {@code resource "type" "name"}).
+	 */
+	static final class MapBinder extends ValueBinder {
+		final ValueBinder valueBinder;
+
+		MapBinder(ValueBinder valueBinder) {
+			this.valueBinder = valueBinder;
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			if(isNull(value)) {
+				return null;
+			}
+			if(!(value instanceof HCLMap) && !(value instanceof HCLBlock)) {
+				throw error("Cannot bind " + value.getSymbolName() + " to a map", value);
+			}
+			Map<String, Object> result = newAccumulator();
+			putChildren(result, value);
+			return result;
+		}
+
+		private void putChildren(Map<String, Object> result, Symbol value) throws HCLParserException {
+			for(Symbol child : value.getChildren()) {
+				if(child instanceof HCLAttribute) {
+					result.put(child.getName(), valueBinder.bind(firstChild(child)));
+				} else if(child instanceof HCLBlock) {
+					result.put(child.getName(), valueBinder.bind(child));
+				}
+			}
+		}
+
+		@Override
+		boolean accumulatesBlocks() {
+			return true;
+		}
+
+		@Override
+		Map<String, Object> newAccumulator() {
+			return new LinkedHashMap<>();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void accumulate(Object accumulator, HCLBlock block, int labelIndex) throws HCLParserException {
+			Map<String, Object> map = (Map<String, Object>) accumulator;
+			List<String> blockNames = block.blockNames;
+			if(labelIndex >= blockNames.size()) {
+				putChildren(map, block);
+				return;
+			}
+			String key = blockNames.get(labelIndex);
+			if(valueBinder instanceof MapBinder && labelIndex + 1 < blockNames.size()) {
+				Object nested = map.get(key);
+				if(nested == null) {
+					nested = valueBinder.newAccumulator();
+					map.put(key, nested);
+				}
+				valueBinder.accumulate(nested, block, labelIndex + 1);
+			} else if(valueBinder.accumulatesBlocks() && !(valueBinder instanceof MapBinder)) {
+				Object nested = map.get(key);
+				if(nested == null) {
+					nested = valueBinder.newAccumulator();
+				}
+				valueBinder.accumulate(nested, block, labelIndex + 1);
+				map.put(key, valueBinder.finish(nested));
+			} else {
+				map.put(key, valueBinder.bind(block));
+			}
+		}
+	}
+
+	/**
+	 * Nested POJOs and records, bound through the (lazily resolved and cached) plan of their class.
+	 */
+	static final class ObjectBinder extends ValueBinder {
+		final Class<?> type;
+		final HCLBinder binder;
+		private volatile BindingPlan plan;
+
+		ObjectBinder(Class<?> type, HCLBinder binder) {
+			this.type = type;
+			this.binder = binder;
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			if(isNull(value)) {
+				return null;
+			}
+			BindingPlan bindingPlan = plan;
+			if(bindingPlan == null) {
+				bindingPlan = binder.planFor(type);
+				plan = bindingPlan;
+			}
+			if(value instanceof HCLBlock) {
+				List<String> blockNames = ((HCLBlock) value).blockNames;
+				return bindingPlan.bind(value.getChildren(), blockNames.subList(1, blockNames.size()), value);
+			} else if(value instanceof HCLMap) {
+				return bindingPlan.bind(value.getChildren(), java.util.Collections.<String>emptyList(), value);
+			}
+			throw error("Cannot bind " + value.getSymbolName() + " to " + type.getSimpleName(), value);
+		}
+	}
+
+	/**
+	 * Keeps the symbol itself, e.g. for {@code PrimitiveType} or {@code Variable} properties.
+	 */
+	static final class SymbolBinder extends ValueBinder {
+		final Class<?> type;
+
+		SymbolBinder(Class<?> type) {
+			this.type = type;
+		}
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			if(value == null || type.isInstance(value)) {
+				return value;
+			}
+			throw error("Cannot bind " + value.getSymbolName() + " to " + type.getSimpleName(), value);
+		}
+	}
+
+	/**
+	 * {@code Object} properties receive the same representation {@code HCLParser.parse()} produces.
+	 */
+	static final class GenericBinder extends ValueBinder {
+
+		@Override
+		Object bind(Symbol value) throws HCLParserException {
+			if(value == null) {
+				return null;
+			} else if(value instanceof HCLValue) {
+				HCLValue hclValue = (HCLValue) value;
+				if(hclValue.getValue() == null) {
+					return null;
+				} else if("number".equals(hclValue.getType())) {
+					return Double.parseDouble(hclValue.getValue().toString());
+				} else if("boolean".equals(hclValue.getType())) {
+					return Boolean.valueOf("true".equals(hclValue.getValue()));
+				}
+				return hclValue.getValue();
+			} else if(value instanceof HCLArray) {
+				List<Object> result = new ArrayList<>(value.getChildren().size());
+				for(Symbol child : value.getChildren()) {
+					result.add(bind(child));
+				}
+				return result;
+			} else if(value instanceof HCLMap || value instanceof HCLBlock) {
+				Map<String, Object> result = new LinkedHashMap<>();
+				for(Symbol child : value.getChildren()) {
+					result.put(child.getName(), child instanceof HCLAttribute ? bind(firstChild(child)) : bind(child));
+				}
+				return result;
+			}
+			return value;
+		}
+	}
+
+	static Symbol firstChild(Symbol symbol) {
+		return symbol.getChildren().isEmpty() ? null : symbol.getChildren().get(0);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.module;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One module directory of a {@link HCLModuleGraph}: the configuration of all its {@code .tf} files and the
+ * module blocks it declares. Every directory is represented by a single instance no matter how many modules call it.
+ */
+public class HCLModule {
+	private final Path directory;
+	private final List<Path> files;
+	private final HCLConfiguration configuration;
+	private final List<HCLModuleCall> calls;
+
+	HCLModule(Path directory, List<Path> files, HCLConfiguration configuration, List<HCLModuleCall> calls) {
+		this.directory = directory;
+		this.files = Collections.unmodifiableList(files);
+		this.configuration = configuration;
+		this.calls = Collections.unmodifiableList(calls);
+	}
+
+	/**
+	 * @return the real (symlink free, absolute) path of the module directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @return the parsed {@code .tf} files in name order
+	 */
+	public List<Path> getFiles() {
+		return files;
+	}
+
+	/**
+	 * @return the blocks and attributes of all files of the module, in file name order
+	 */
+	public HCLConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * @return the module blocks declared by this module in document order
+	 */
+	public List<HCLModuleCall> getCalls() {
+		return calls;
+	}
+
+	@Override
+	public String toString() {
+		return "HCLModule(" + directory + ")";
+	}
+}
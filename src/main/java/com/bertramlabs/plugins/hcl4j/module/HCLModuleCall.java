@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.module;
+
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+
+import java.nio.file.Path;
+
+/**
+ * A {@code module "name" { source = "..." }} block of a module and, for local sources, the module it resolves to.
+ */
+public class HCLModuleCall {
+	private final String name;
+	private final String source;
+	private final HCLBlock block;
+	/** real path of a local source, resolved by the worker that parsed the calling module */
+	Path directory;
+	HCLModule module;
+
+	HCLModuleCall(String name, String source, HCLBlock block) {
+		this.name = name;
+		this.source = source;
+		this.block = block;
+	}
+
+	/**
+	 * @return the module label, e.g. {@code network} for {@code module "network"}
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the {@code source} attribute as written, or null if the block has no literal source
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	public HCLBlock getBlock() {
+		return block;
+	}
+
+	/**
+	 * @return true if the source is a local path ({@code ./} or {@code ../}) that was loaded into the graph
+	 */
+	public boolean isLocal() {
+		return module != null;
+	}
+
+	/**
+	 * @return the loaded module for local sources, null for registry, git and other remote sources
+	 */
+	public HCLModule getModule() {
+		return module;
+	}
+
+	@Override
+	public String toString() {
+		return "module \"" + name + "\" (" + source + ")";
+	}
+}
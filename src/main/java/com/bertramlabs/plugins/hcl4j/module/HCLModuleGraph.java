@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.module;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of {@link HCLModuleLoader#load}: the requested root modules and every local module reachable from them,
+ * each directory loaded exactly once. Modules reference each other through {@link HCLModuleCall#getModule()}; shared
+ * modules are the same instance in every caller, and cycles are preserved as is.
+ */
+public class HCLModuleGraph {
+	private final List<HCLModule> roots;
+	private final Map<Path, HCLModule> modules;
+
+	HCLModuleGraph(List<HCLModule> roots, Map<Path, HCLModule> modules) {
+		this.roots = Collections.unmodifiableList(roots);
+		this.modules = Collections.unmodifiableMap(modules);
+	}
+
+	/**
+	 * @return the root modules in the order they were requested
+	 */
+	public List<HCLModule> getRoots() {
+		return roots;
+	}
+
+	/**
+	 * @return all distinct modules of the graph, roots included, in load order
+	 */
+	public Collection<HCLModule> getModules() {
+		return modules.values();
+	}
+
+	/**
+	 * @param directory a module directory, relative or through symlinks
+	 * @return the module loaded from that directory or null if it is not part of the graph
+	 */
+	public HCLModule getModule(Path directory) {
+		HCLModule module = modules.get(directory);
+		if(module == null) {
+			try {
+				module = modules.get(directory.toRealPath());
+			} catch(IOException ex) {
+				return null;
+			}
+		}
+		return module;
+	}
+
+	public int size() {
+		return modules.size();
+	}
+}
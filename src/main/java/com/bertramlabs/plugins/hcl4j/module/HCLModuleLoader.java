@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.module;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+import com.bertramlabs.plugins.hcl4j.HCLParser;
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a tree of Terraform style modules starting from one or more root directories. All {@code .tf} files of a
+ * directory are parsed with {@link HCLParser#parseConfiguration} into one {@link HCLModule}, the {@code source} of every
+ * {@code module} block is read, and local sources ({@code ./} and {@code ../} paths) are loaded the same way.
+ * <p>
+ *     Directories are parsed concurrently on a fixed pool. Paths are resolved to their real path before scheduling, so a
+ *     directory reached from several roots, through different relative paths or through symlinks is parsed once per
+ *     {@link #load} call. Deduplication happens on the calling thread as results complete, so workers never contend on
+ *     shared state.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLModuleGraph graph = new HCLModuleLoader().load(new File("live/prod"), new File("live/staging"));
+ *     for(HCLModuleCall call : graph.getRoots().get(0).getCalls()) {
+ *         HCLConfiguration networkConfig = call.getModule().getConfiguration();
+ *     }
+ *     }
+ * </pre>
+ */
+public class HCLModuleLoader {
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final int parallelism;
+	private final Charset charset;
+
+	/**
+	 * Creates a loader with one worker per available processor reading files as UTF-8.
+	 */
+	public HCLModuleLoader() {
+		this(Runtime.getRuntime().availableProcessors(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param parallelism the maximum number of directories parsed at the same time
+	 * @param charset the encoding of the {@code .tf} files
+	 */
+	public HCLModuleLoader(int parallelism, Charset charset) {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		}
+		this.parallelism = parallelism;
+		this.charset = charset;
+	}
+
+	public HCLModuleGraph load(File... roots) throws HCLParserException, IOException {
+		List<Path> paths = new ArrayList<>(roots.length);
+		for(File root : roots) {
+			paths.add(root.toPath());
+		}
+		return load(paths);
+	}
+
+	/**
+	 * Loads the given root module directories and every local module they reference, directly or transitively.
+	 * @param roots root module directories
+	 * @return the module graph
+	 * @throws HCLParserException if any file of any module fails to parse, or a local module source does not exist
+	 * @throws IOException if a directory or file can not be read
+	 */
+	public HCLModuleGraph load(List<Path> roots) throws HCLParserException, IOException {
+		Set<Path> scheduled = new HashSet<>();
+		Map<Path, HCLModule> modules = new LinkedHashMap<>();
+		List<Path> rootPaths = new ArrayList<>(roots.size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, new LoaderThreadFactory());
+		try {
+			CompletionService<HCLModule> completion = new ExecutorCompletionService<>(executor);
+			int pending = 0;
+			for(Path root : roots) {
+				Path directory = realDirectory(root, null);
+				rootPaths.add(directory);
+				if(scheduled.add(directory)) {
+					completion.submit(new ParseModule(directory));
+					pending++;
+				}
+			}
+
+			while(pending > 0) {
+				HCLModule module = completion.take().get();
+				pending--;
+				modules.put(module.getDirectory(), module);
+				for(HCLModuleCall call : module.getCalls()) {
+					Path directory = call.directory;
+					if(directory != null && scheduled.add(directory)) {
+						completion.submit(new ParseModule(directory));
+						pending++;
+					}
+				}
+			}
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading modules", ex);
+		} catch(ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if(cause instanceof HCLParserException) {
+				throw (HCLParserException) cause;
+			} else if(cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for(HCLModule module : modules.values()) {
+			for(HCLModuleCall call : module.getCalls()) {
+				if(call.directory != null) {
+					call.module = modules.get(call.directory);
+				}
+			}
+		}
+		List<HCLModule> rootModules = new ArrayList<>(rootPaths.size());
+		for(Path root : rootPaths) {
+			rootModules.add(modules.get(root));
+		}
+		return new HCLModuleGraph(rootModules, modules);
+	}
+
+	static boolean isLocalSource(String source) {
+		return source != null && (source.startsWith("./") || source.startsWith("../") || source.startsWith(".\\") || source.startsWith("..\\"));
+	}
+
+	private static Path realDirectory(Path directory, HCLModuleCall call) throws IOException, HCLParserException {
+		try {
+			Path real = directory.toRealPath();
+			if(Files.isDirectory(real)) {
+				return real;
+			}
+		} catch(NoSuchFileException ex) {
+			// reported below
+		}
+		if(call != null) {
+			throw new HCLParserException("Module '" + call.getName() + "' source '" + call.getSource() + "' is not a directory: " + directory);
+		}
+		throw new NoSuchFileException(directory.toString(), null, "not a module directory");
+	}
+
+	private static String literalSource(HCLBlock block) {
+		for(Symbol child : block.getChildren()) {
+			if(child instanceof HCLAttribute && "source".equals(child.getName()) && !child.getChildren().isEmpty()) {
+				Symbol value = child.getChildren().get(0);
+				if(value instanceof HCLValue && "string".equals(((HCLValue) value).getType())) {
+					return (String) ((HCLValue) value).getValue();
+				}
+			}
+		}
+		return null;
+	}
+
+	private class ParseModule implements Callable<HCLModule> {
+		private final Path directory;
+
+		ParseModule(Path directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		public HCLModule call() throws HCLParserException, IOException {
+			List<Path> files = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.tf")) {
+				for(Path file : stream) {
+					if(Files.isRegularFile(file)) {
+						files.add(file);
+					}
+				}
+			}
+			Path[] sorted = files.toArray(new Path[files.size()]);
+			Arrays.sort(sorted);
+			files = Arrays.asList(sorted);
+
+			HCLParser parser = new HCLParser();
+			List<HCLBlock> blocks = new ArrayList<>();
+			List<HCLAttribute> attributes = new ArrayList<>();
+			for(Path file : files) {
+				HCLConfiguration configuration;
+				try {
+					configuration = parser.parseConfiguration(file.toFile(), charset);
+				} catch(HCLParserException ex) {
+					throw new HCLParserException("Failed to parse " + file + ": " + ex.getMessage(), ex);
+				}
+				blocks.addAll(configuration.getBlocks());
+				attributes.addAll(configuration.getAttributes());
+			}
+
+			List<HCLModuleCall> calls = new ArrayList<>();
+			for(HCLBlock block : blocks) {
+				if("module".equals(block.getName()) && block.blockNames.size() > 1) {
+					HCLModuleCall call = new HCLModuleCall(block.blockNames.get(1), literalSource(block), block);
+					if(isLocalSource(call.getSource())) {
+						call.directory = realDirectory(directory.resolve(call.getSource()), call);
+					}
+					calls.add(call);
+				}
+			}
+			return new HCLModule(directory, files, new HCLConfiguration(blocks, attributes), calls);
+		}
+	}
+
+	private static class LoaderThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "hcl4j-module-loader-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
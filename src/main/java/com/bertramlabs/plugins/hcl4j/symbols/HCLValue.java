@@ -15,17 +15,12 @@
  */
 package com.bertramlabs.plugins.hcl4j.symbols;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * A Class representation of an attributes value. This could be a generic type like a "string", "number", "boolean", "array" (see {@link HCLArray}, or "map" (see {@link HCLMap}).
  * This is an internal parser lexer class and should not be needed externally.
  * @author David Estes
  */
 public class HCLValue extends GenericSymbol {
-	static final Logger LOG = LoggerFactory.getLogger(HCLValue.class);
-
 	final private String type;
 	final private Object value;
 
@@ -36,8 +31,6 @@ public class HCLValue extends GenericSymbol {
 
 	public HCLValue(String type, Object value, Integer line, Integer column,Long position) {
 		super("value",line,column,position);
-		LOG.debug ("Symbol type: '{}' / Value: '{}'", type, value);
-
 		this.type = type;
 		this.value = value;
 	}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.validation;
+
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link HCLTypeValidator#convert} when a value does not conform to its type constraint. Every violation
+ * found in the value is reported, not just the first.
+ */
+public class HCLTypeException extends HCLParserException {
+	private static final long serialVersionUID = 1L;
+
+	private final List<HCLTypeViolation> violations;
+
+	public HCLTypeException(List<HCLTypeViolation> violations) {
+		super(message(violations));
+		this.violations = Collections.unmodifiableList(violations);
+	}
+
+	public List<HCLTypeViolation> getViolations() {
+		return violations;
+	}
+
+	private static String message(List<HCLTypeViolation> violations) {
+		StringBuilder message = new StringBuilder("Value does not conform to its type constraint");
+		for(HCLTypeViolation violation : violations) {
+			message.append("\n  ").append(violation);
+		}
+		return message.toString();
+	}
+}
@@ -0,0 +1,538 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.validation;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.BooleanPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.EvalSymbol;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.ListPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.MapPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.NumberPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.PrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SetPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.StringPrimitiveType;
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SubTypePrimitiveType;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLArray;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLMap;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue;
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Validates and converts parsed values against a type constraint such as {@code list(map(number))}, as parsed into
+ * {@link PrimitiveType} symbols from the {@code type} attribute of {@code variable} blocks.
+ * <p>
+ *     A type chain is compiled once into a flat array of type operations, and validators are cached per type shape, so
+ *     every {@code variable} declaring {@code map(string)} shares one instance. Values are walked with an explicit
+ *     stack rather than by recursion, every violation is collected with its path and source span, and conversion
+ *     happens in the same pass. Conversions follow Terraform: numbers and bools convert to strings, numeric strings to
+ *     numbers, {@code "true"}/{@code "false"} to bools, and {@code null} is accepted for any type. A collection type
+ *     without an element type ({@code list}, {@code map}) accepts any elements.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLTypeValidator validator = HCLTypeValidator.forType(variableType);
+ *     List<HCLTypeViolation> violations = validator.validate(tfvarsAttribute.getChildren().get(0));
+ *     }
+ * </pre>
+ * Validators are immutable and thread safe.
+ */
+public final class HCLTypeValidator {
+	private static final int ANY = 0;
+	private static final int STRING = 1;
+	private static final int NUMBER = 2;
+	private static final int BOOL = 3;
+	private static final int LIST = 4;
+	private static final int SET = 5;
+	private static final int MAP = 6;
+
+	private static final ConcurrentMap<String, HCLTypeValidator> CACHE = new ConcurrentHashMap<>();
+
+	/** type operation per nesting depth; the last entry is always a scalar or {@link #ANY} */
+	private final int[] ops;
+	/** the type constraint from each depth down, for violation messages */
+	private final String[] typeNames;
+
+	private HCLTypeValidator(int[] ops, String[] typeNames) {
+		this.ops = ops;
+		this.typeNames = typeNames;
+	}
+
+	/**
+	 * @param type the parsed type constraint
+	 * @return the compiled (and shared) validator for the shape of the type
+	 */
+	public static HCLTypeValidator forType(PrimitiveType type) {
+		int[] ops = compile(type);
+		String[] typeNames = typeNames(ops);
+		String shape = typeNames[0];
+		HCLTypeValidator validator = CACHE.get(shape);
+		if(validator == null) {
+			validator = new HCLTypeValidator(ops, typeNames);
+			HCLTypeValidator existing = CACHE.putIfAbsent(shape, validator);
+			if(existing != null) {
+				validator = existing;
+			}
+		}
+		return validator;
+	}
+
+	/**
+	 * @return the normalized type constraint, e.g. {@code list(map(any))}
+	 */
+	public String getShape() {
+		return typeNames[0];
+	}
+
+	/**
+	 * @param value the value symbol, i.e. the first child of an attribute
+	 * @return every violation in document order, empty if the value conforms
+	 */
+	public List<HCLTypeViolation> validate(Symbol value) {
+		return validate(value, "");
+	}
+
+	/**
+	 * @param value the value symbol, i.e. the first child of an attribute
+	 * @param path the path reported for the value itself, e.g. the variable name
+	 * @return every violation in document order, empty if the value conforms
+	 */
+	public List<HCLTypeViolation> validate(Symbol value, String path) {
+		Walk walk = new Walk(false);
+		walk.run(value);
+		return walk.violations(path);
+	}
+
+	/**
+	 * Converts a value to the Java representation of its type: {@code String}, {@code Double}, {@code Boolean},
+	 * {@code List}, {@code Set} (insertion ordered) or {@code Map}.
+	 * @param value the value symbol, i.e. the first child of an attribute
+	 * @return the converted value
+	 * @throws HCLTypeException listing every violation if the value does not conform
+	 */
+	public Object convert(Symbol value) throws HCLTypeException {
+		return convert(value, "");
+	}
+
+	public Object convert(Symbol value, String path) throws HCLTypeException {
+		Walk walk = new Walk(true);
+		Object result = walk.run(value);
+		List<HCLTypeViolation> violations = walk.violations(path);
+		if(!violations.isEmpty()) {
+			throw new HCLTypeException(violations);
+		}
+		return result;
+	}
+
+	/**
+	 * Validates the attributes of a {@code .tfvars} configuration against the {@code type} of the matching
+	 * {@code variable} blocks. Variables without a type constraint and values for undeclared variables are skipped.
+	 * @param declarations configuration containing {@code variable} blocks
+	 * @param values the parsed variable values
+	 * @return every violation of every variable, paths starting with the variable name
+	 */
+	public static List<HCLTypeViolation> validateVariables(HCLConfiguration declarations, HCLConfiguration values) {
+		Map<String, HCLAttribute> assignments = new HashMap<>();
+		for(HCLAttribute attribute : values.getAttributes()) {
+			assignments.put(attribute.getName(), attribute);
+		}
+		List<HCLTypeViolation> violations = new ArrayList<>();
+		for(HCLBlock block : declarations.getBlocks()) {
+			if(!"variable".equals(block.getName()) || block.blockNames.size() < 2) {
+				continue;
+			}
+			String name = block.blockNames.get(1);
+			HCLAttribute assignment = assignments.get(name);
+			PrimitiveType type = declaredType(block);
+			if(assignment != null && type != null) {
+				violations.addAll(forType(type).validate(firstChild(assignment), name));
+			}
+		}
+		return violations;
+	}
+
+	private static PrimitiveType declaredType(HCLBlock variable) {
+		for(Symbol child : variable.getChildren()) {
+			if(child instanceof HCLAttribute && "type".equals(child.getName())) {
+				Symbol type = firstChild(child);
+				return type instanceof PrimitiveType ? (PrimitiveType) type : null;
+			}
+		}
+		return null;
+	}
+
+	private static int[] compile(PrimitiveType type) {
+		int[] ops = new int[4];
+		int length = 0;
+		PrimitiveType current = type;
+		while(true) {
+			if(length == ops.length) {
+				ops = Arrays.copyOf(ops, length * 2);
+			}
+			int op = opFor(current);
+			ops[length++] = op;
+			if(!isCollection(op)) {
+				break;
+			}
+			current = ((SubTypePrimitiveType) current).subType;
+			if(current == null) {
+				if(length == ops.length) {
+					ops = Arrays.copyOf(ops, length + 1);
+				}
+				ops[length++] = ANY;
+				break;
+			}
+		}
+		return Arrays.copyOf(ops, length);
+	}
+
+	private static String[] typeNames(int[] ops) {
+		String[] typeNames = new String[ops.length];
+		for(int depth = ops.length - 1; depth >= 0; depth--) {
+			String name = opName(ops[depth]);
+			typeNames[depth] = isCollection(ops[depth]) ? name + "(" + typeNames[depth + 1] + ")" : name;
+		}
+		return typeNames;
+	}
+
+	private static int opFor(PrimitiveType type) {
+		if(type instanceof StringPrimitiveType) {
+			return STRING;
+		} else if(type instanceof NumberPrimitiveType) {
+			return NUMBER;
+		} else if(type instanceof BooleanPrimitiveType) {
+			return BOOL;
+		} else if(type instanceof ListPrimitiveType) {
+			return LIST;
+		} else if(type instanceof SetPrimitiveType) {
+			return SET;
+		} else if(type instanceof MapPrimitiveType) {
+			return MAP;
+		}
+		return ANY;
+	}
+
+	private static boolean isCollection(int op) {
+		return op == LIST || op == SET || op == MAP;
+	}
+
+	private static String opName(int op) {
+		switch(op) {
+			case STRING:
+				return "string";
+			case NUMBER:
+				return "number";
+			case BOOL:
+				return "bool";
+			case LIST:
+				return "list";
+			case SET:
+				return "set";
+			case MAP:
+				return "map";
+			default:
+				return "any";
+		}
+	}
+
+	private static Symbol firstChild(Symbol symbol) {
+		return symbol.getChildren().isEmpty() ? null : symbol.getChildren().get(0);
+	}
+
+	/**
+	 * State of a single validation or conversion. Every visited value gets a frame; frames are append only so the
+	 * path of a violation can be rebuilt from parent links after the walk, while {@code stack} holds the frames still
+	 * to visit. Children are pushed in reverse so values are visited, and violations reported, in document order.
+	 */
+	private final class Walk {
+		private final boolean converting;
+		private Symbol[] symbols = new Symbol[16];
+		private int[] depths = new int[16];
+		private int[] parents = new int[16];
+		private Object[] keys = new Object[16];
+		private Object[] results;
+		private int size;
+		private int[] stack = new int[16];
+		private int top;
+
+		private List<Integer> setFrames;
+		private List<Integer> violationFrames;
+		private List<String> violationMessages;
+		private Object root;
+
+		Walk(boolean converting) {
+			this.converting = converting;
+			this.results = converting ? new Object[16] : null;
+		}
+
+		Object run(Symbol value) {
+			push(value, 0, -1, null);
+			while(top > 0) {
+				visit(stack[--top]);
+			}
+			if(setFrames != null) {
+				// sets are filled as lists, their elements are only complete (and hashable) once the walk is done
+				for(int i = setFrames.size() - 1; i >= 0; i--) {
+					int frame = setFrames.get(i);
+					attach(frame, new LinkedHashSet<>((List<?>) results[frame]));
+				}
+			}
+			return root;
+		}
+
+		private void visit(int frame) {
+			Symbol value = symbols[frame];
+			int depth = depths[frame];
+			int op = ops[depth];
+			if(value == null || (value instanceof HCLValue && "null".equals(((HCLValue) value).getType()))) {
+				attach(frame, null);
+				return;
+			}
+			if(value instanceof EvalSymbol) {
+				violation(frame, "expected a literal " + typeNames[depth] + " value, found " + describe(value));
+				return;
+			}
+			switch(op) {
+				case STRING:
+					if(value instanceof HCLValue) {
+						attach(frame, ((HCLValue) value).getValue());
+					} else {
+						mismatch(frame, value);
+					}
+					break;
+				case NUMBER:
+					number(frame, value);
+					break;
+				case BOOL:
+					bool(frame, value);
+					break;
+				case LIST:
+				case SET:
+					if(value instanceof HCLArray) {
+						sequence(frame, value, op == SET, depth + 1);
+					} else {
+						mismatch(frame, value);
+					}
+					break;
+				case MAP:
+					if(value instanceof HCLMap || value instanceof HCLBlock) {
+						object(frame, value, depth + 1);
+					} else {
+						mismatch(frame, value);
+					}
+					break;
+				default:
+					if(value instanceof HCLArray) {
+						sequence(frame, value, false, depth);
+					} else if(value instanceof HCLMap || value instanceof HCLBlock) {
+						object(frame, value, depth);
+					} else if(value instanceof HCLValue) {
+						HCLValue scalar = (HCLValue) value;
+						if("number".equals(scalar.getType())) {
+							number(frame, value);
+						} else if("boolean".equals(scalar.getType())) {
+							bool(frame, value);
+						} else {
+							attach(frame, scalar.getValue());
+						}
+					} else {
+						mismatch(frame, value);
+					}
+			}
+		}
+
+		private void number(int frame, Symbol value) {
+			if(value instanceof HCLValue) {
+				HCLValue scalar = (HCLValue) value;
+				String text = String.valueOf(scalar.getValue());
+				if("number".equals(scalar.getType())) {
+					attach(frame, Double.parseDouble(text));
+					return;
+				} else if("string".equals(scalar.getType())) {
+					try {
+						attach(frame, new BigDecimal(text.trim()).doubleValue());
+						return;
+					} catch(NumberFormatException ex) {
+						violation(frame, "expected number, found string \"" + text + "\"");
+						return;
+					}
+				}
+			}
+			mismatch(frame, value);
+		}
+
+		private void bool(int frame, Symbol value) {
+			if(value instanceof HCLValue) {
+				HCLValue scalar = (HCLValue) value;
+				Object text = scalar.getValue();
+				if("boolean".equals(scalar.getType()) || "string".equals(scalar.getType())) {
+					if("true".equals(text)) {
+						attach(frame, Boolean.TRUE);
+						return;
+					} else if("false".equals(text)) {
+						attach(frame, Boolean.FALSE);
+						return;
+					}
+					violation(frame, "expected bool, found string \"" + text + "\"");
+					return;
+				}
+			}
+			mismatch(frame, value);
+		}
+
+		private void sequence(int frame, Symbol value, boolean set, int elementDepth) {
+			List<Symbol> children = value.getChildren();
+			int count = children.size();
+			if(converting) {
+				attach(frame, new ArrayList<>(Collections.nCopies(count, null)));
+				if(set) {
+					if(setFrames == null) {
+						setFrames = new ArrayList<>();
+					}
+					setFrames.add(frame);
+				}
+			}
+			for(int i = count - 1; i >= 0; i--) {
+				push(children.get(i), elementDepth, frame, i);
+			}
+		}
+
+		private void object(int frame, Symbol value, int valueDepth) {
+			List<Symbol> children = value.getChildren();
+			if(converting) {
+				attach(frame, new LinkedHashMap<String, Object>());
+			}
+			for(int i = children.size() - 1; i >= 0; i--) {
+				Symbol child = children.get(i);
+				if(child instanceof HCLAttribute) {
+					push(firstChild(child), valueDepth, frame, child.getName());
+				} else if(child instanceof HCLBlock) {
+					push(child, valueDepth, frame, child.getName());
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void attach(int frame, Object value) {
+			if(!converting) {
+				return;
+			}
+			results[frame] = value;
+			int parent = parents[frame];
+			if(parent < 0) {
+				root = value;
+			} else if(keys[frame] instanceof Integer) {
+				((List<Object>) results[parent]).set((Integer) keys[frame], value);
+			} else {
+				((Map<String, Object>) results[parent]).put((String) keys[frame], value);
+			}
+		}
+
+		private void push(Symbol value, int depth, int parent, Object key) {
+			if(size == symbols.length) {
+				int capacity = size * 2;
+				symbols = Arrays.copyOf(symbols, capacity);
+				depths = Arrays.copyOf(depths, capacity);
+				parents = Arrays.copyOf(parents, capacity);
+				keys = Arrays.copyOf(keys, capacity);
+				if(converting) {
+					results = Arrays.copyOf(results, capacity);
+				}
+			}
+			if(top == stack.length) {
+				stack = Arrays.copyOf(stack, top * 2);
+			}
+			symbols[size] = value;
+			depths[size] = depth;
+			parents[size] = parent;
+			keys[size] = key;
+			stack[top++] = size++;
+		}
+
+		private void mismatch(int frame, Symbol value) {
+			violation(frame, "expected " + typeNames[depths[frame]] + ", found " + describe(value));
+		}
+
+		private void violation(int frame, String message) {
+			if(violationFrames == null) {
+				violationFrames = new ArrayList<>();
+				violationMessages = new ArrayList<>();
+			}
+			violationFrames.add(frame);
+			violationMessages.add(message);
+		}
+
+		List<HCLTypeViolation> violations(String rootPath) {
+			if(violationFrames == null) {
+				return Collections.emptyList();
+			}
+			List<HCLTypeViolation> violations = new ArrayList<>(violationFrames.size());
+			for(int i = 0; i < violationFrames.size(); i++) {
+				int frame = violationFrames.get(i);
+				violations.add(new HCLTypeViolation(path(frame, rootPath), typeNames[depths[frame]], violationMessages.get(i), symbols[frame]));
+			}
+			return violations;
+		}
+
+		private String path(int frame, String rootPath) {
+			List<Object> segments = new ArrayList<>();
+			for(int current = frame; parents[current] >= 0; current = parents[current]) {
+				segments.add(keys[current]);
+			}
+			StringBuilder path = new StringBuilder(rootPath);
+			for(int i = segments.size() - 1; i >= 0; i--) {
+				Object segment = segments.get(i);
+				if(segment instanceof Integer) {
+					path.append('[').append(segment).append(']');
+				} else {
+					if(path.length() > 0) {
+						path.append('.');
+					}
+					path.append(segment);
+				}
+			}
+			return path.toString();
+		}
+	}
+
+	private static String describe(Symbol value) {
+		if(value instanceof HCLValue) {
+			HCLValue scalar = (HCLValue) value;
+			String type = "boolean".equals(scalar.getType()) ? "bool" : scalar.getType();
+			return "string".equals(type) ? "string \"" + scalar.getValue() + "\"" : type + " " + scalar.getValue();
+		} else if(value instanceof HCLArray) {
+			return "list";
+		} else if(value instanceof HCLMap || value instanceof HCLBlock) {
+			return "object";
+		} else if(value instanceof EvalSymbol) {
+			return "reference '" + value.getName() + "'";
+		}
+		return value.getSymbolName();
+	}
+}
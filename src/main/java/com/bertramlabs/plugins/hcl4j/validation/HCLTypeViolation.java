@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.validation;
+
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol;
+
+/**
+ * A value that does not conform to a type constraint, reported by {@link HCLTypeValidator}. The offending symbol
+ * carries the source span (line, column, position and length) of the value.
+ */
+public class HCLTypeViolation {
+	private final String path;
+	private final String expectedType;
+	private final String message;
+	private final Symbol symbol;
+
+	public HCLTypeViolation(String path, String expectedType, String message, Symbol symbol) {
+		this.path = path;
+		this.expectedType = expectedType;
+		this.message = message;
+		this.symbol = symbol;
+	}
+
+	/**
+	 * @return path of the value below the validated root, e.g. {@code servers[2].port}
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the type constraint at that path, e.g. {@code number} or {@code map(string)}
+	 */
+	public String getExpectedType() {
+		return expectedType;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return the offending value symbol, null if the value is missing
+	 */
+	public Symbol getSymbol() {
+		return symbol;
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder(path).append(": ").append(message);
+		if(symbol != null && symbol.getLine() != null) {
+			result.append(" (line ").append(symbol.getLine() + 1).append(", column ").append(symbol.getColumn() + 1).append(')');
+		}
+		return result.toString();
+	}
+}
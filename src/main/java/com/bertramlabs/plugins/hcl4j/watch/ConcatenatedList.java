@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.watch;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list view over several lists, used to merge the roots of all files of a snapshot without copying
+ * them. Creating a view costs one entry per non-empty part, lookups do a binary search over the parts.
+ */
+final class ConcatenatedList<E> extends AbstractList<E> implements RandomAccess {
+	private final List<List<? extends E>> parts;
+	private final int[] offsets;
+	private final int size;
+
+	ConcatenatedList(List<? extends List<? extends E>> parts) {
+		List<List<? extends E>> nonEmpty = new ArrayList<>(parts.size());
+		for(List<? extends E> part : parts) {
+			if(!part.isEmpty()) {
+				nonEmpty.add(part);
+			}
+		}
+		this.parts = nonEmpty;
+		this.offsets = new int[nonEmpty.size()];
+		int size = 0;
+		for(int i = 0; i < offsets.length; i++) {
+			offsets[i] = size;
+			size += nonEmpty.get(i).size();
+		}
+		this.size = size;
+	}
+
+	@Override
+	public E get(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		int part = Arrays.binarySearch(offsets, index);
+		if(part < 0) {
+			part = -part - 2;
+		}
+		return parts.get(part).get(index - offsets[part]);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
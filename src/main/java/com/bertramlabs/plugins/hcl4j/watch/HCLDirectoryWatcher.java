@@ -0,0 +1,430 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.watch;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+import com.bertramlabs.plugins.hcl4j.HCLParser;
+import com.bertramlabs.plugins.hcl4j.HCLParserException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps an {@link HCLSnapshot} of the {@code .tf} and {@code .tfvars} files of a directory up to date. Changes are
+ * picked up with a {@link WatchService}; events are collected until the directory has been quiet for the debounce
+ * interval (at most ten intervals in total), then only the files of that batch are parsed again and a new snapshot,
+ * sharing everything else with the previous one, is published.
+ *
+ * <p>
+ *     {@link #getSnapshot()} is a single volatile read, so any number of threads can query the current state while a
+ *     reload runs in the background. A file that fails to parse keeps its last good configuration and is reported in
+ *     {@link HCLSnapshot#getErrors()}. Sub directories are not watched.
+ * </p>
+ * <pre>
+ *     {@code
+ *     HCLDirectoryWatcher watcher = new HCLDirectoryWatcher(Paths.get("policies"));
+ *     watcher.start();
+ *     // on any request thread
+ *     HCLConfiguration current = watcher.getSnapshot().getConfiguration();
+ *     }
+ * </pre>
+ */
+public class HCLDirectoryWatcher implements Closeable {
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	/**
+	 * Source of time for debouncing, replaced in tests.
+	 */
+	interface Clock {
+		long millis();
+	}
+
+	static final Clock SYSTEM_CLOCK = new Clock() {
+		@Override
+		public long millis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+		}
+	};
+
+	private final Path directory;
+	private final long debounceMillis;
+	private final Charset charset;
+	private final Clock clock;
+	private final List<HCLSnapshotListener> listeners = new CopyOnWriteArrayList<>();
+	/** Snapshot changes not yet handed to the listeners, guarded by this. */
+	private final Queue<HCLSnapshot[]> notifications = new ArrayDeque<>();
+	private boolean notifying;
+	private volatile HCLSnapshot snapshot;
+	private volatile boolean closed;
+	private WatchService watchService;
+	private Thread thread;
+
+	// the batch of changes being debounced, only used by the thread running watch()
+	private final Set<Path> pending = new HashSet<>();
+	private boolean pendingOverflow;
+	private long batchStart;
+	private long lastEvent;
+
+	/**
+	 * Creates a watcher with a debounce interval of 200 milliseconds reading files as UTF-8.
+	 */
+	public HCLDirectoryWatcher(Path directory) {
+		this(directory, 200, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param directory the directory to watch
+	 * @param debounceMillis how long the directory has to be quiet before a batch of changes is applied
+	 * @param charset the encoding of the files
+	 */
+	public HCLDirectoryWatcher(Path directory, long debounceMillis, Charset charset) {
+		this(directory, debounceMillis, charset, SYSTEM_CLOCK);
+	}
+
+	HCLDirectoryWatcher(Path directory, long debounceMillis, Charset charset, Clock clock) {
+		if(debounceMillis < 0) {
+			throw new IllegalArgumentException("debounceMillis must not be negative");
+		}
+		this.directory = directory.toAbsolutePath().normalize();
+		this.debounceMillis = debounceMillis;
+		this.charset = charset;
+		this.clock = clock;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public void addListener(HCLSnapshotListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(HCLSnapshotListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @return the current snapshot, null before {@link #start()}
+	 */
+	public HCLSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Parses all files of the directory into the initial snapshot and starts watching it on a daemon thread. Files
+	 * that fail to parse are reported in {@link HCLSnapshot#getErrors()}.
+	 * @return the initial snapshot
+	 * @throws IOException if the directory can not be read or watched
+	 */
+	public HCLSnapshot start() throws IOException {
+		HCLSnapshot initial = startWatching();
+		notifyListeners();
+		return initial;
+	}
+
+	private synchronized HCLSnapshot startWatching() throws IOException {
+		if(thread != null || closed) {
+			throw new IllegalStateException("The watcher was already started");
+		}
+		watchService = directory.getFileSystem().newWatchService();
+		try {
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_DELETE);
+			reload();
+		} catch(IOException | RuntimeException ex) {
+			watchService.close();
+			throw ex;
+		}
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watch();
+			}
+		}, "hcl4j-directory-watcher-" + THREAD_COUNTER.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+		return snapshot;
+	}
+
+	/**
+	 * Parses every file of the directory again and publishes the result. This is also done when the watch service
+	 * reports lost events.
+	 * @return the new snapshot
+	 * @throws IOException if the directory can not be listed
+	 */
+	public HCLSnapshot refresh() throws IOException {
+		HCLSnapshot result = reload();
+		notifyListeners();
+		return result;
+	}
+
+	private synchronized HCLSnapshot reload() throws IOException {
+		Set<Path> files = new TreeSet<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for(Path file : stream) {
+				if(isConfigurationFile(file)) {
+					files.add(file);
+				}
+			}
+		}
+		if(snapshot != null) {
+			files.addAll(snapshot.getFiles());
+			files.addAll(snapshot.getErrors().keySet());
+		}
+		publish(files, true);
+		return snapshot;
+	}
+
+	/**
+	 * Parses the given files again, or drops them from the snapshot if they no longer exist, and publishes the result.
+	 * Listeners are called after the lock of this watcher has been released.
+	 */
+	void update(Collection<Path> files, boolean always) {
+		publish(files, always);
+		notifyListeners();
+	}
+
+	private synchronized void publish(Collection<Path> files, boolean always) {
+		HCLSnapshot previous = snapshot;
+		Map<Path, HCLConfiguration> configurations = new TreeMap<>();
+		Map<Path, Exception> errors = new TreeMap<>();
+		if(previous != null) {
+			configurations.putAll(previous.getConfigurationsByFile());
+			errors.putAll(previous.getErrors());
+		}
+		Set<Path> changed = new TreeSet<>();
+		for(Path file : files) {
+			boolean wasKnown = configurations.containsKey(file) || errors.containsKey(file);
+			errors.remove(file);
+			try {
+				if(Files.isRegularFile(file)) {
+					configurations.put(file, parse(file));
+					changed.add(file);
+					continue;
+				}
+			} catch(NoSuchFileException ex) {
+				// deleted while the batch was collected
+			} catch(HCLParserException | IOException | RuntimeException ex) {
+				errors.put(file, ex);
+				changed.add(file);
+				continue;
+			}
+			configurations.remove(file);
+			if(wasKnown) {
+				changed.add(file);
+			}
+		}
+		if(changed.isEmpty() && !always) {
+			return;
+		}
+		snapshot = new HCLSnapshot(previous == null ? 0 : previous.getVersion() + 1, configurations, errors, changed);
+		if(previous != null) {
+			notifications.add(new HCLSnapshot[] {previous, snapshot});
+		}
+	}
+
+	/**
+	 * Hands queued snapshot changes to the listeners in the order they were published. Only one thread notifies at a
+	 * time; a thread that finds another one notifying leaves its changes to that thread instead of waiting for it, so
+	 * a slow listener never holds up {@link #refresh()} or the watch thread of another caller.
+	 */
+	private void notifyListeners() {
+		while(true) {
+			HCLSnapshot[] change;
+			synchronized(this) {
+				if(notifying || notifications.isEmpty()) {
+					return;
+				}
+				notifying = true;
+				change = notifications.poll();
+			}
+			try {
+				for(HCLSnapshotListener listener : listeners) {
+					try {
+						listener.snapshotChanged(change[0], change[1]);
+					} catch(RuntimeException ex) {
+						reportListenerFailure(ex);
+					}
+				}
+			} finally {
+				synchronized(this) {
+					notifying = false;
+				}
+			}
+		}
+	}
+
+	private HCLConfiguration parse(Path file) throws HCLParserException, IOException {
+		HCLConfiguration configuration = new HCLParser().parseConfiguration(file.toFile(), charset);
+		return new HCLConfiguration(Collections.unmodifiableList(configuration.getBlocks()), Collections.unmodifiableList(configuration.getAttributes()));
+	}
+
+	private void watch() {
+		try {
+			while(!closed) {
+				long delay = pendingDelayMillis();
+				WatchKey key = delay < 0 ? watchService.take() : watchService.poll(delay, TimeUnit.MILLISECONDS);
+				if(key != null) {
+					Set<Path> changed = new HashSet<>();
+					boolean overflow = drain(key, changed);
+					addPending(changed, overflow);
+				}
+				applyPendingIfDue();
+			}
+		} catch(InterruptedException | ClosedWatchServiceException ex) {
+			// closed
+		} catch(IOException ex) {
+			failed(ex);
+		}
+	}
+
+	/**
+	 * Adds changed files to the batch that is being debounced.
+	 * @param overflow true if events were lost, the whole directory is reloaded then
+	 */
+	void addPending(Collection<Path> files, boolean overflow) {
+		if(files.isEmpty() && !overflow) {
+			return;
+		}
+		long now = clock.millis();
+		if(pending.isEmpty() && !pendingOverflow) {
+			batchStart = now;
+		}
+		lastEvent = now;
+		pending.addAll(files);
+		pendingOverflow |= overflow;
+	}
+
+	/**
+	 * @return milliseconds until the pending batch is due: once the directory has been quiet for the debounce
+	 * interval, or ten intervals after the first change of the batch. 0 if it is due, -1 if nothing is pending.
+	 */
+	long pendingDelayMillis() {
+		if(pending.isEmpty() && !pendingOverflow) {
+			return -1;
+		}
+		long due = Math.min(lastEvent + debounceMillis, batchStart + debounceMillis * 10);
+		return Math.max(0, due - clock.millis());
+	}
+
+	/**
+	 * Parses the pending batch and publishes the result if it is due.
+	 * @return true if the batch was applied
+	 */
+	boolean applyPendingIfDue() throws IOException {
+		if(pendingDelayMillis() != 0) {
+			return false;
+		}
+		Set<Path> files = new HashSet<>(pending);
+		boolean overflow = pendingOverflow;
+		pending.clear();
+		pendingOverflow = false;
+		if(overflow) {
+			refresh();
+		} else {
+			update(files, false);
+		}
+		return true;
+	}
+
+	/**
+	 * Collects the configuration files of the events of a key.
+	 * @return true if events were lost
+	 */
+	private boolean drain(WatchKey key, Set<Path> changed) throws IOException {
+		boolean overflow = false;
+		for(WatchEvent<?> event : key.pollEvents()) {
+			if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				overflow = true;
+			} else {
+				Path file = directory.resolve((Path) event.context());
+				if(isConfigurationFile(file)) {
+					changed.add(file);
+				}
+			}
+		}
+		if(!key.reset()) {
+			throw new NoSuchFileException(directory.toString(), null, "directory is no longer accessible");
+		}
+		return overflow;
+	}
+
+	private void failed(IOException cause) {
+		for(HCLSnapshotListener listener : listeners) {
+			try {
+				listener.watchFailed(cause);
+			} catch(RuntimeException ex) {
+				reportListenerFailure(ex);
+			}
+		}
+	}
+
+	private static void reportListenerFailure(RuntimeException ex) {
+		Thread current = Thread.currentThread();
+		current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+	}
+
+	static boolean isConfigurationFile(Path file) {
+		String name = file.getFileName().toString();
+		return name.endsWith(".tf") || name.endsWith(".tfvars");
+	}
+
+	/**
+	 * Stops watching. The last snapshot stays available.
+	 */
+	@Override
+	public void close() throws IOException {
+		Thread watcherThread;
+		synchronized(this) {
+			closed = true;
+			watcherThread = thread;
+			if(watchService != null) {
+				watchService.close();
+			}
+		}
+		if(watcherThread != null && watcherThread != Thread.currentThread()) {
+			try {
+				watcherThread.join(TimeUnit.SECONDS.toMillis(5));
+			} catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.watch;
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLAttribute;
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable state of a watched directory: the parsed configuration of every file and their merge. A new snapshot
+ * shares the configurations of all unchanged files with its predecessor, and the merged configuration is a view over
+ * the per file lists, so publishing a snapshot costs time proportional to the changed files plus the number of files,
+ * not the size of the configuration.
+ *
+ * <p>
+ *     Snapshots can be read by any number of threads without locking. The symbols they contain must not be modified.
+ * </p>
+ */
+public final class HCLSnapshot {
+	private final long version;
+	private final Map<Path, HCLConfiguration> configurations;
+	private final Map<Path, Exception> errors;
+	private final Set<Path> changedFiles;
+	private final HCLConfiguration configuration;
+
+	/**
+	 * @param configurations the configuration of each file, sorted by path
+	 * @param errors files that failed to parse, sorted by path
+	 */
+	HCLSnapshot(long version, Map<Path, HCLConfiguration> configurations, Map<Path, Exception> errors, Set<Path> changedFiles) {
+		this.version = version;
+		this.configurations = Collections.unmodifiableMap(configurations);
+		this.errors = Collections.unmodifiableMap(errors);
+		this.changedFiles = Collections.unmodifiableSet(changedFiles);
+
+		List<List<HCLBlock>> blocks = new ArrayList<>(configurations.size());
+		List<List<HCLAttribute>> attributes = new ArrayList<>(configurations.size());
+		for(HCLConfiguration file : configurations.values()) {
+			blocks.add(file.getBlocks());
+			attributes.add(file.getAttributes());
+		}
+		this.configuration = new HCLConfiguration(new ConcatenatedList<HCLBlock>(blocks), new ConcatenatedList<HCLAttribute>(attributes));
+	}
+
+	/**
+	 * @return 0 for the initial snapshot, incremented with every published change
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return the blocks and attributes of all files, in file name order
+	 */
+	public HCLConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * @return the configuration of a single file, or null if the file is not part of this snapshot
+	 */
+	public HCLConfiguration getConfiguration(Path file) {
+		return configurations.get(file);
+	}
+
+	Map<Path, HCLConfiguration> getConfigurationsByFile() {
+		return configurations;
+	}
+
+	/**
+	 * @return all parsed files, sorted by path
+	 */
+	public Set<Path> getFiles() {
+		return configurations.keySet();
+	}
+
+	/**
+	 * Files whose latest version failed to parse. The snapshot keeps the last configuration of such a file that parsed
+	 * successfully, if there was one.
+	 * @return the failure per file, sorted by path
+	 */
+	public Map<Path, Exception> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * @return the files added, modified, removed or failed in the batch that produced this snapshot, all files for the
+	 * initial snapshot and after a full rescan
+	 */
+	public Set<Path> getChangedFiles() {
+		return changedFiles;
+	}
+}
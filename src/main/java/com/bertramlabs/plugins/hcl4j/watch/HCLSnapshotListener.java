@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bertramlabs.plugins.hcl4j.watch;
+
+import java.io.IOException;
+
+/**
+ * Notified by {@link HCLDirectoryWatcher} of every new snapshot, in order and one call at a time. Calls are made without
+ * holding the watcher's lock, on the thread that published the snapshot or on one still delivering earlier ones.
+ */
+public interface HCLSnapshotListener {
+	/**
+	 * Called after a new snapshot has been published.
+	 * @param previous the snapshot that was replaced
+	 * @param current the new snapshot, {@link HCLSnapshot#getChangedFiles()} lists the files of this batch
+	 */
+	void snapshotChanged(HCLSnapshot previous, HCLSnapshot current);
+
+	/**
+	 * Called when the directory can no longer be watched, for example because it was deleted. The watcher stops and
+	 * the last snapshot stays available.
+	 */
+	void watchFailed(IOException cause);
+}
@@ -0,0 +1,119 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+
+class CompactResultsSpec extends Specification {
+
+	static final String HCL = '''
+region = "us-east-1"
+zones = ["a", "b", {
+  name = "c"
+  weight = 2
+}]
+empty = {}
+
+resource "aws_instance" "web" {
+  ami = "ami-1234"
+  count = 2
+  enabled = true
+  tags = {
+    Name = "web"
+  }
+}
+
+resource "aws_instance" "web" {
+  ami = "ami-5678"
+}
+
+resource "aws_instance" "db" {
+  ami = null
+}
+'''
+
+	static HCLParser compactParser() {
+		HCLParser parser = new HCLParser()
+		parser.compactResults = true
+		return parser
+	}
+
+	void "should return results equal to the default maps"() {
+		given:
+		Map expected = new HCLParser().parse(HCL)
+
+		when:
+		Map results = compactParser().parse(HCL)
+
+		then:
+		results == expected
+		expected == results
+		results.hashCode() == expected.hashCode()
+		results.toString() == expected.toString()
+		results.keySet() as List == ['region', 'zones', 'empty', 'resource']
+		results.resource.aws_instance.web instanceof List
+		results.resource.aws_instance.web[1].ami == 'ami-5678'
+		results.resource.aws_instance.db.containsKey('ami')
+		results.resource.aws_instance.db.ami == null
+		!results.containsKey('missing')
+		results.zones[2].weight == 2d
+		compactParser().parse('subnet = var.subnet_id\n').subnet.name == 'var.subnet_id'
+		results.getClass() == CompactMap
+		results.zones.getClass() == CompactList
+		results.empty.is(CompactMap.EMPTY)
+	}
+
+	void "should be immutable"() {
+		given:
+		Map results = compactParser().parse(HCL)
+
+		when:
+		modification.call(results)
+
+		then:
+		thrown(UnsupportedOperationException)
+
+		where:
+		modification << [
+			{ Map map -> map.put('region', 'eu-west-1') },
+			{ Map map -> map.remove('region') },
+			{ Map map -> map.clear() },
+			{ Map map -> map.entrySet().iterator().with { next(); remove() } },
+			{ Map map -> map.zones.add('d') },
+			{ Map map -> map.zones.set(0, 'd') },
+			{ Map map -> map.resource.aws_instance.web[0].put('ami', 'x') }
+		]
+	}
+
+	void "should index larger maps and keep their insertion order"() {
+		given:
+		StringBuilder hcl = new StringBuilder()
+		List<String> names = (0..<200).collect { "key_${(it * 7919) % 200}".toString() }
+		names.each { hcl << "${it} = ${it.substring(4)}\n" }
+		HCLParser parser = compactParser()
+
+		when:
+		Map results = parser.parse(hcl.toString())
+		Map tfvars = parser.parseTfvars(hcl.toString())
+
+		then:
+		results.keySet() as List == names
+		names.every { results[it] == it.substring(4) as double }
+		!results.containsKey('key_200')
+		tfvars == results
+		tfvars.getClass() == CompactMap
+	}
+}
@@ -0,0 +1,187 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j
+
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.ForTupleExpression
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.SubTypePrimitiveType
+import com.bertramlabs.plugins.hcl4j.symbols.HCLBlock
+import com.bertramlabs.plugins.hcl4j.symbols.HCLMap
+import com.bertramlabs.plugins.hcl4j.symbols.HCLValue
+import com.bertramlabs.plugins.hcl4j.symbols.Symbol
+import spock.lang.Specification
+
+class HCLArenaSpec extends Specification {
+
+	static final String HCL = '''
+region = "us-east-1"
+enabled = true
+
+variable "sizes" {
+  type = list(map(number))
+  default = null
+}
+
+resource "aws_instance" "web" {
+  ami = "ami-1234"
+  count = 2
+  subnet = var.subnet_id
+  names = [for s in var.users : s.name]
+  tags = {
+    Name = "web"
+    Ports = [80, 443]
+  }
+}
+
+resource "aws_instance" "db" {
+  ami = "ami-1234"
+}
+'''
+
+	static String dump(Symbol symbol) {
+		StringBuilder out = new StringBuilder()
+		out << symbol.class.simpleName << ':' << symbol.name << '@' << symbol.line << ',' << symbol.column << ',' << symbol.position
+		if(symbol instanceof HCLBlock) {
+			out << symbol.blockNames
+		}
+		if(symbol instanceof HCLValue) {
+			out << '=' << symbol.type << ':' << symbol.value
+		}
+		if(symbol instanceof SubTypePrimitiveType && symbol.subType) {
+			out << '<' << dump(symbol.subType) << '>'
+		}
+		out << '(' << symbol.children.collect { dump(it) }.join(' ') << ')'
+		return out.toString()
+	}
+
+	static String dump(HCLConfiguration configuration) {
+		return (configuration.attributes + configuration.blocks).collect { dump(it) }.join('\n')
+	}
+
+	void "should materialize the same symbols as parseConfiguration"() {
+		given:
+		HCLParser parser = new HCLParser()
+		HCLConfiguration expected = parser.parseConfiguration(new StringReader(HCL))
+		HCLArena arena = parser.parseArena(new StringReader(HCL), direct)
+		when:
+		HCLConfiguration configuration = arena.toConfiguration()
+		then:
+		arena.direct == direct
+		dump(configuration) == dump(expected)
+		configuration.blocks[1].children.every { it.parent.is(configuration.blocks[1]) }
+		configuration.blocks[1].children.find { it.name == 'names' }.children[0] instanceof ForTupleExpression
+		where:
+		direct << [false, true]
+	}
+
+	void "should traverse blocks and values with a cursor"() {
+		given:
+		HCLArena arena = new HCLParser().parseArena(new StringReader(HCL), direct)
+		HCLArena.Cursor cursor = arena.cursor()
+		List<String> resources = []
+		when:
+		for(boolean more = cursor.firstRoot(); more; more = cursor.nextSibling()) {
+			if(cursor.kind == HCLArena.Kind.BLOCK && cursor.nameEquals('resource')) {
+				resources << cursor.getBlockName(2)
+			}
+		}
+		then:
+		resources == ['web', 'db']
+		!cursor.nextSibling()
+		cursor.blockNames == ['resource', 'aws_instance', 'db']
+		cursor.blockNameEquals(1, 'aws_instance')
+
+		when:
+		cursor.firstRoot()
+		cursor.nextSibling()
+		cursor.nextSibling()
+		cursor.nextSibling()
+		HCLArena.Cursor web = cursor.copy()
+		cursor.firstChild()
+		then:
+		cursor.kind == HCLArena.Kind.ATTRIBUTE
+		cursor.name == 'ami'
+		cursor.firstChild()
+		cursor.kind == HCLArena.Kind.STRING
+		cursor.value == 'ami-1234'
+		cursor.line == 10
+		cursor.parent()
+		cursor.nextSibling()
+		cursor.firstChild()
+		cursor.kind == HCLArena.Kind.NUMBER
+		cursor.text == '2'
+		cursor.value == 2d
+		!cursor.firstChild()
+		cursor.parent()
+		cursor.parent()
+		cursor.node == web.node
+
+		when:
+		cursor.firstRoot()
+		cursor.nextSibling()
+		cursor.firstChild()
+		then:
+		cursor.kind == HCLArena.Kind.BOOLEAN
+		cursor.value == true
+		cursor.parent()
+		!cursor.parent()
+		cursor.name == 'enabled'
+		where:
+		direct << [false, true]
+	}
+
+	void "should store repeated names and values once"() {
+		given:
+		StringBuilder hcl = new StringBuilder()
+		1000.times { i ->
+			hcl << "resource \"aws_instance\" \"web${i % 10}\" {\n  ami = \"ami-1234\"\n  count = ${i % 3}\n}\n"
+		}
+		when:
+		HCLArena arena = new HCLParser().parseArena(new StringReader(hcl.toString()))
+		then:
+		arena.nodeCount == 1000 * 5
+		arena.stringCount < 30
+		arena.toSymbol(0) instanceof HCLBlock
+		dump(arena.toConfiguration()) == dump(new HCLParser().parseConfiguration(new StringReader(hcl.toString())))
+	}
+
+	void "should reject invalid roots and honor ignoreParserExceptions like parse"() {
+		given:
+		HCLArena arena = new HCLArena(false)
+		String invalid = 'a = 1\nb = "x"\nc = @\nd = 3\n'
+
+		when:
+		new HCLArena.Builder(arena, false).rootSymbol(new HCLMap(0, 0, 0L))
+		then:
+		def rootError = thrown(HCLParserException)
+		rootError.message.contains('Blocks and Attributes')
+
+		when:
+		new HCLArena.Builder(arena, true).rootSymbol(new HCLMap(0, 0, 0L))
+		then:
+		arena.nodeCount == 0
+
+		when:
+		new HCLParser().parseArena(new StringReader(invalid))
+		then:
+		thrown(HCLParserException)
+
+		when:
+		HCLArena partial = new HCLParser().parseArena(new StringReader(invalid), false, true)
+		then:
+		partial.toConfiguration().attributes*.name == ['a', 'b', 'c']
+		partial.toConfiguration().attributes*.name == new HCLParser().parse(invalid, true).keySet() as List
+	}
+}
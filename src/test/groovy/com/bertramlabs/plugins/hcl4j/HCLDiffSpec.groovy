@@ -0,0 +1,146 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+
+class HCLDiffSpec extends Specification {
+
+	static HCLConfiguration configuration(String hcl) {
+		return new HCLParser().parseConfiguration(new StringReader(hcl))
+	}
+
+	void "should hash equal configurations equally regardless of whitespace and comments"() {
+		given:
+		def original = configuration('''
+resource "aws_instance" "web" {
+  ami = "ami-1234"
+  count = 2
+}
+''')
+		def revised = configuration('''
+# the web server
+resource "aws_instance" "web" {
+  ami   =   "ami-1234"   
+  // scaled later
+  count = 2
+}
+''')
+		HCLStructuralHash hashes = new HCLStructuralHash()
+		expect:
+		hashes.hash(original) == hashes.hash(revised)
+		new HCLDiff(hashes).diff(original, revised).isEmpty()
+	}
+
+	void "should report added, removed and changed blocks and attributes"() {
+		given:
+		def original = configuration('''
+region = "us-east-1"
+
+resource "aws_instance" "web" {
+  ami = "ami-1234"
+  instance_type = "t2.micro"
+  tags = {
+    Name = "web"
+    Team = "ops"
+  }
+}
+
+resource "aws_instance" "db" {
+  ami = "ami-5678"
+}
+''')
+		def revised = configuration('''
+region = "us-east-1"
+
+resource "aws_instance" "web" {
+  ami = "ami-9999"
+  instance_type = "t2.micro"
+  monitoring = true
+  tags = {
+    Name = "web"
+    Team = "platform"
+  }
+}
+
+resource "aws_s3_bucket" "logs" {
+  bucket = "logs"
+}
+''')
+		when:
+		List<HCLChange> changes = new HCLDiff().diff(original, revised)
+		then:
+		changes.collect { "${it.type} ${it.path}".toString() } == [
+			'CHANGED resource.aws_instance.web.ami',
+			'CHANGED resource.aws_instance.web.tags.Team',
+			'ADDED resource.aws_instance.web.monitoring',
+			'REMOVED resource.aws_instance.db',
+			'ADDED resource.aws_s3_bucket.logs'
+		]
+		changes[0].original.line == 4
+		changes[0].revised.line == 4
+		changes[3].revised == null
+		changes[4].original == null
+	}
+
+	void "should match repeated blocks in document order"() {
+		given:
+		def original = configuration('''
+resource "aws_security_group" "sg" {
+  ingress {
+    from_port = 22
+  }
+  ingress {
+    from_port = 80
+  }
+}
+''')
+		def revised = configuration('''
+resource "aws_security_group" "sg" {
+  ingress {
+    from_port = 22
+  }
+  ingress {
+    from_port = 443
+  }
+  ingress {
+    from_port = 8080
+  }
+}
+''')
+		when:
+		List<HCLChange> changes = new HCLDiff().diff(original, revised)
+		then:
+		changes*.type == [HCLChange.Type.CHANGED, HCLChange.Type.ADDED]
+		changes*.path == ['resource.aws_security_group.sg.ingress[1].from_port', 'resource.aws_security_group.sg.ingress[2]']
+
+		when:
+		changes = new HCLDiff().diff(revised, configuration('''
+resource "aws_security_group" "sg" {
+  ingress {
+    from_port = 443
+  }
+  ingress {
+    from_port = 8080
+  }
+}
+'''))
+		then:
+		changes*.type == [HCLChange.Type.REMOVED]
+		changes*.path == ['resource.aws_security_group.sg.ingress[0]']
+		changes[0].original.children.find { it.name == 'from_port' }.children[0].value == '22'
+	}
+}
@@ -308,6 +308,29 @@ Don't you?
 '''
 	}
 
+	void "should only end a multiline string on the exact end marker"() {
+		given:
+		def hcl = '''
+variable {
+description = <<EOF
+  EOFX is not the end
+    EOF is not the end either
+{ "json": "${var.value}" }
+  EOF  
+other = "value"
+}
+'''
+		HCLParser parser = new HCLParser();
+		when:
+		def results  = parser.parse(hcl)
+		then:
+		results.variable.description == '''EOFX is not the end
+EOF is not the end either
+{ "json": "${var.value}" }
+'''
+		results.variable.other == "value"
+	}
+
 	void "should handle stripped tabs multiline string"() {
 		def hcl = '''
 		user_data = <<-EOF
@@ -808,4 +831,88 @@ resource "aws_instance" "bw-instance-1" {
 	results.resource["aws_instance"]["bw-instance-1"] != null
 
 	}
+
+	void "should parse tfvars on the fast path exactly like parse"() {
+		given:
+		HCLParser parser = new HCLParser()
+		expect:
+		new TfvarsParser(hcl.toCharArray(), hcl.length()).parse() != null
+		parser.parseTfvars(hcl) == parser.parse(hcl)
+		parser.parseTfvars(new StringReader(hcl)) == parser.parse(hcl)
+		where:
+		hcl << [
+			'region = "us-east-1"\ncount = 3\nratio = 1.5e2\nenabled = true\nowner = null\n',
+			'# header\n\n/* block\ncomment */\nname = "a\\tb \\"quoted\\" \\\\ ${var.x} $${y} $z"\r\n// trailer\n',
+			'zones = ["a", "b",\n  "c", # third\n]\nnested = [[1, 2], [], [true, null]]\n',
+			'tags = {\n  Name = "web"\n  limits = {\n    cpu = 2\n  }\n  ports = [80, 443]\n}\nempty = {}\n',
+			'servers = [\n  {\n    name = "a"\n  },\n  {}\n]\n',
+			'script = <<-EOF\n    #!/bin/bash\n\n    echo "${var.name}"\n  EOF\nafter = "x"',
+			'dup = 1\nother = 2\ndup = 3\n'
+		]
+	}
+
+	void "should fall back to the general parser for tfvars outside the fast path"() {
+		given:
+		HCLParser parser = new HCLParser()
+		expect:
+		new TfvarsParser(hcl.toCharArray(), hcl.length()).parse() == null
+		parser.parseTfvars(hcl).toString() == parser.parse(hcl).toString()
+		where:
+		hcl << [
+			'variable "region" {\n  default = "us-east-1"\n}\nzone = "a"\n',
+			'ami = var.ami\n',
+			'tags = { Name: "web" }\n',
+			'count = -1\n',
+			'"quoted-name" = "value"\n'
+		]
+	}
+
+	void "should close a for-expression attribute followed by a comment"() {
+		given:
+		HCLParser parser = new HCLParser()
+		when:
+		def results = parser.parse('locals {\n a = [for s in var.list : s] # comment ]\n b = 2\n}\n')
+		then:
+		results.locals.a instanceof ForTupleExpression
+		results.locals.b == 2
+		results.locals.a.evaluate(new HCLEvaluationContext([var: [list: ['x', 'y']]])).toList() == ['x', 'y']
+	}
+
+	void "should keep for-expressions with template directives unevaluated"() {
+		given:
+		HCLParser parser = new HCLParser()
+		when:
+		def results = parser.parse('a = [for s in var.list : "%{ if s != "" }${s}%{ endif }"]\nb = 2\n')
+		then:
+		results.a instanceof UnevaluatedForExpression
+		results.a.tuple
+		results.a.name == '[for s in var.list : "%{ if s != "" }${s}%{ endif }"]'
+		results.a.reason.contains('Template directives')
+		results.b == 2
+	}
+
+	void "should keep for-expressions with heredocs unevaluated"() {
+		given:
+		HCLParser parser = new HCLParser()
+		when:
+		def results = parser.parse('a = {for s in var.list : s => <<EOT\nvalue ${s}\nEOT\n}\nb = 2\n')
+		then:
+		results.a instanceof UnevaluatedForExpression
+		!results.a.tuple
+		results.a.reason.contains('Heredoc')
+		results.b == 2
+	}
+
+	void "should parse provider functions in for-expressions"() {
+		given:
+		HCLParser parser = new HCLParser()
+		when:
+		def results = parser.parse('a = [for s in var.list : provider::aws::arn_parse(s)]\nb = 2\n')
+		def context = new HCLEvaluationContext([var: [list: ['arn:aws:s3:::bucket']]])
+			.withFunction('provider::aws::arn_parse', { List args -> args[0].split(':')[2] } as HCLFunction)
+		then:
+		results.a instanceof ForTupleExpression
+		results.a.evaluate(context).toList() == ['s3']
+		results.b == 2
+	}
 }
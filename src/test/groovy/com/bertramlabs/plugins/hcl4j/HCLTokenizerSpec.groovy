@@ -0,0 +1,132 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j
+
+import spock.lang.Specification
+
+class HCLTokenizerSpec extends Specification {
+
+	static final String HCL = '''# networking
+resource "aws_instance" "web" {
+  ami = "ami-${var.id}-x" /* spans
+  two lines */ count = 2.5e3
+  policy = <<-EOF
+    {"name": "${jsonencode({
+      k = "v"
+    })}"}
+    EOF
+  enabled = a != b && true
+  escaped = "$${x} \\" q"
+}
+'''
+
+	static List<String> tokens(HCLTokenizer tokenizer, String text) {
+		List<String> tokens = []
+		while(tokenizer.next()) {
+			tokens << HCLTokenizer.kindName(tokenizer.kind) + ' ' + text.substring(tokenizer.start, tokenizer.end)
+		}
+		return tokens
+	}
+
+	void "should split HCL into tokens without a symbol tree"() {
+		given:
+		HCLTokenizer tokenizer = new HCLTokenizer()
+		tokenizer.reset(HCL)
+
+		when:
+		List<String> tokens = tokens(tokenizer, HCL)
+
+		then:
+		tokens[0..5] == ['COMMENT # networking', 'IDENTIFIER resource', 'STRING "aws_instance"', 'STRING "web"', 'BRACKET {', 'IDENTIFIER ami']
+		tokens[7..13] == ['STRING "ami-', 'TEMPLATE_START ${', 'IDENTIFIER var', 'PUNCTUATION .', 'IDENTIFIER id', 'TEMPLATE_END }', 'STRING -x"']
+		tokens[14..15] == ['COMMENT /* spans', 'COMMENT   two lines */']
+		tokens.contains('NUMBER 2.5e3')
+		tokens.contains('HEREDOC_START <<-EOF')
+		tokens.contains('STRING     {"name": "')
+		tokens.contains('BRACKET }')
+		tokens.contains('STRING "}')
+		tokens.contains('HEREDOC_END EOF')
+		tokens.contains('OPERATOR !=')
+		tokens.contains('KEYWORD true')
+		tokens.contains('STRING "$${x} \\" q"')
+		tokens.last() == 'BRACKET }'
+		tokenizer.state.is(HCLTokenizer.State.INITIAL)
+	}
+
+	void "should restart at any line boundary from the saved state"() {
+		given:
+		HCLTokenizer tokenizer = new HCLTokenizer()
+		tokenizer.reset(HCL)
+		List<String> expected = tokens(tokenizer, HCL)
+		List<HCLTokenizer.State> states = []
+		List<String> lineByLine = []
+
+		when:
+		HCLTokenizer.State state = HCLTokenizer.State.INITIAL
+		int lineStart = 0
+		while(lineStart < HCL.length()) {
+			int lineEnd = HCL.indexOf('\n', lineStart) + 1
+			tokenizer.reset(HCL, lineStart, lineEnd, state)
+			lineByLine.addAll(tokens(tokenizer, HCL))
+			state = tokenizer.state
+			states << state
+			lineStart = lineEnd
+		}
+
+		then:
+		lineByLine == expected
+		states*.open == [false, false, true, false, true, true, true, true, false, false, false, false]
+		states[4].toString() == 'State[heredoc EOF ]'
+		states[5].toString() == 'State[heredoc EOF template ]'
+		states[5] == states[6]
+		states[5].hashCode() == states[6].hashCode()
+		states[4] != states[5]
+
+		when: "a heredoc line is edited, re-tokenizing stops at the first line that ends in its previous state"
+		String edited = HCL.replace('k = "v"', 'k = "changed"')
+		int line = 6
+		int editedStart = edited.readLines().take(line).sum { it.length() + 1 } as int
+		tokenizer.reset(edited, editedStart, edited.indexOf('\n', editedStart) + 1, states[line - 1])
+		tokens(tokenizer, edited)
+
+		then:
+		tokenizer.state == states[line]
+	}
+
+	void "should read tokens into an int buffer"() {
+		given:
+		HCLTokenizer tokenizer = new HCLTokenizer()
+		tokenizer.reset(HCL)
+		List<String> expected = tokens(tokenizer, HCL)
+		int[] buffer = new int[4 * HCLTokenizer.STRIDE]
+		List<String> read = []
+
+		when:
+		tokenizer.reset(HCL)
+		int count
+		while((count = tokenizer.read(buffer, 0, 4)) > 0) {
+			for(int i = 0; i < count; i++) {
+				int kind = buffer[i * HCLTokenizer.STRIDE]
+				int start = buffer[i * HCLTokenizer.STRIDE + 1]
+				int length = buffer[i * HCLTokenizer.STRIDE + 2]
+				read << HCLTokenizer.kindName(kind) + ' ' + HCL.substring(start, start + length)
+			}
+		}
+
+		then:
+		read == expected
+	}
+}
@@ -0,0 +1,112 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j.RuntimeSymbols
+
+import com.bertramlabs.plugins.hcl4j.HCLParser
+import spock.lang.Specification
+
+class ForExpressionSpec extends Specification {
+
+	void "should capture for expressions as nodes"() {
+		given:
+		def hcl = '''
+output "ips" {
+  value = {
+    for instance in aws_instance.example:
+    instance.id => instance.public_ip # ignored ]
+    if instance.associate_public_ip_address
+  }
+}
+grouped = {for k, v in var.tags : v => k...}
+nested = [for i, x in [for y in var.numbers : y * 2] : "${i}-${x}"]
+after = "value"
+'''
+		when:
+		def results = new HCLParser().parse(hcl)
+		then:
+		results.output.ips.value instanceof ForObjectExpression
+		results.output.ips.value.name == '{for instance in aws_instance.example: instance.id => instance.public_ip if instance.associate_public_ip_address}'
+		results.output.ips.value.keyVariable == null
+		results.output.ips.value.valueVariable == 'instance'
+		results.output.ips.value.condition != null
+		!results.output.ips.value.grouping
+		results.grouped.keyVariable == 'k'
+		results.grouped.valueVariable == 'v'
+		results.grouped.grouping
+		results.nested instanceof ForTupleExpression
+		results.nested.collection instanceof ForTupleExpression
+		results.nested.line == 9
+		results.after == 'value'
+	}
+
+	void "should evaluate one for expression against different bindings"() {
+		given:
+		def results = new HCLParser().parse('''
+ips = {for i in instances : i.id => i.ip if i.public}
+groups = {for name, role in roles : role => name...}
+labels = [for i, n in numbers : "${i}:${upper(n * 2)}"]
+''')
+		def upper = { args -> args[0].toString() + '!' } as HCLFunction
+		def first = new HCLEvaluationContext([instances: [[id: 'a', ip: '10.0.0.1', public: true], [id: 'b', ip: '10.0.0.2', public: false]],
+			roles: [web1: 'web', db1: 'db', web2: 'web'], numbers: [1, 2]]).withFunction('upper', upper)
+		def second = new HCLEvaluationContext([instances: [[id: 'c', ip: '10.0.0.3', public: true]], roles: [:], numbers: [5]])
+			.withFunction('upper', upper)
+		expect:
+		results.ips.evaluate(first) == [a: '10.0.0.1']
+		results.ips.evaluate(second) == [c: '10.0.0.3']
+		results.groups.evaluate(first) == [web: ['web1', 'web2'], db: ['db1']]
+		results.groups.evaluate(second) == [:]
+		results.labels.evaluate(first).collect() == ['0:2.0!', '1:4.0!']
+		results.labels.evaluate(second).collect() == ['0:10.0!']
+	}
+
+	void "should evaluate tuple for expressions lazily"() {
+		given:
+		def expression = new HCLParser().parse('doubled = [for n in numbers : twice(n) if n > 0]\n').doubled
+		def calls = 0
+		def context = new HCLEvaluationContext([numbers: (-5..1000000)]).withFunction('twice', { args ->
+			calls++
+			return args[0] * 2
+		} as HCLFunction)
+		when:
+		def iterator = expression.evaluate(context).iterator()
+		def values = [iterator.next(), iterator.next(), iterator.next()]
+		then:
+		values == [2, 4, 6]
+		calls == 3
+	}
+
+	void "should report invalid and failing for expressions"() {
+		when:
+		def invalid = new HCLParser().parse('x = [for a in b : ]\n').x
+		then:
+		invalid instanceof UnevaluatedForExpression
+		invalid.tuple
+		invalid.reason.contains('line: 1 col: 19')
+
+		when:
+		invalid.evaluate(new HCLEvaluationContext([b: [1]]))
+		then:
+		def invalidError = thrown(HCLEvaluationException)
+		invalidError.message.contains('line: 1 col: 19')
+
+		when:
+		new HCLParser().parse('x = {for a in b : a => 1}\n').x.evaluate(new HCLEvaluationContext([b: [1, 1]]))
+		then:
+		def evaluationError = thrown(HCLEvaluationException)
+		evaluationError.message.startsWith("Duplicate object key '1'")
+	}
+}
@@ -0,0 +1,271 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j.binding
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration
+import com.bertramlabs.plugins.hcl4j.HCLParser
+import com.bertramlabs.plugins.hcl4j.HCLParserException
+import com.bertramlabs.plugins.hcl4j.RuntimeSymbols.PrimitiveType
+import spock.lang.Requires
+import spock.lang.Specification
+
+import javax.tools.ToolProvider
+import java.util.concurrent.BlockingQueue
+
+class HCLBinderSpec extends Specification {
+
+	static HCLConfiguration configuration(String hcl) {
+		return new HCLParser().parseConfiguration(new StringReader(hcl))
+	}
+
+	static boolean recordsSupported() {
+		return Class.methods.any { it.name == 'isRecord' } && ToolProvider.systemJavaCompiler != null
+	}
+
+	/**
+	 * Compiles Java sources at runtime, records cannot be declared in Groovy.
+	 */
+	static ClassLoader compile(Map<String, String> sources) {
+		File directory = File.createTempDir()
+		List<String> arguments = ['-d', directory.path, '-cp', new File(HCLLabel.protectionDomain.codeSource.location.toURI()).path]
+		sources.each { String name, String source ->
+			File file = new File(directory, name + '.java')
+			file.text = source
+			arguments << file.path
+		}
+		assert ToolProvider.systemJavaCompiler.run(null, null, null, arguments as String[]) == 0
+		return new URLClassLoader([directory.toURI().toURL()] as URL[], HCLBinderSpec.classLoader)
+	}
+
+	void "should bind attributes and nested blocks onto plain objects"() {
+		given:
+		def config = configuration('''
+name = "web"
+instance_count = 3
+max_bytes = 1099511627776
+ratio = 0.75
+enabled = true
+zones = ["a", "b"]
+ports = [80, 443]
+mode = "fast"
+tags = {
+  env = "prod"
+  team = "core"
+}
+
+network {
+  cidr = "10.0.0.0/16"
+}
+''')
+		when:
+		Settings settings = new HCLBinder().bind(config, Settings)
+		then:
+		settings.name == "web"
+		settings.instanceCount == 3
+		settings.maxBytes == 1099511627776L
+		settings.ratio == 0.75d
+		settings.enabled
+		settings.zones == ["a", "b"]
+		settings.ports == [80, 443] as int[]
+		settings.mode == Mode.FAST
+		settings.tags == [env: "prod", team: "core"]
+		settings.network.cidr == "10.0.0.0/16"
+		settings.setterCalls == 1
+	}
+
+	void "should bind block labels and collect repeated blocks"() {
+		given:
+		def config = configuration('''
+variable "region" {
+  default = "us-east-1"
+}
+
+variable "size" {
+  type = number
+  default = 2
+}
+
+resource "aws_instance" "web" {
+  ami = "ami-1234"
+}
+
+resource "aws_instance" "db" {
+  ami = "ami-5678"
+}
+
+resource "aws_s3_bucket" "logs" {
+  ami = "none"
+}
+''')
+		when:
+		Stack stack = new HCLBinder().bind(config, Stack)
+		List<Variable> variables = new HCLBinder().bindBlocks(config, "variable", Variable)
+		then:
+		stack.variable*.name == ["region", "size"]
+		stack.variable[1].type instanceof PrimitiveType
+		stack.variable[1].defaultValue == 2
+		stack.resource.keySet() == ["aws_instance", "aws_s3_bucket"] as Set
+		stack.resource.aws_instance.keySet() == ["web", "db"] as Set
+		stack.resource.aws_instance.db.type == "aws_instance"
+		stack.resource.aws_instance.db.name == "db"
+		stack.resource.aws_instance.db.ami == "ami-5678"
+		variables*.defaultValue == ["us-east-1", 2]
+	}
+
+	void "should report values that do not fit their property type"() {
+		given:
+		def config = configuration('''
+instance_count = 3000000000
+''')
+		when:
+		new HCLBinder().bind(config, Settings)
+		then:
+		def ex = thrown(HCLParserException)
+		ex.message.contains("int")
+		ex.message.contains("line: 2")
+	}
+
+	void "should bind all primitive types and declared collection types"() {
+		given:
+		def config = configuration('''
+weight = 0.5
+priority = 300
+flags = 7
+hosts = ["b", "a"]
+names = ["b", "a", "b"]
+ports = [443, 80]
+labels = ["y", "x"]
+''')
+		when:
+		Tuning tuning = new HCLBinder().bind(config, Tuning)
+		then:
+		tuning.weight == 0.5f
+		tuning.priority == (short) 300
+		tuning.flags == (byte) 7
+		tuning.hosts instanceof LinkedList
+		tuning.hosts == ["b", "a"]
+		tuning.names instanceof TreeSet
+		tuning.names as List == ["a", "b"]
+		tuning.ports instanceof ArrayDeque
+		tuning.ports as List == [443, 80]
+		tuning.labels instanceof TreeSet
+		tuning.labels as List == ["x", "y"]
+
+		when:
+		new HCLBinder().bind(config, Unsupported)
+		then:
+		def ex = thrown(HCLParserException)
+		ex.message.contains(BlockingQueue.name)
+	}
+
+	@Requires({ HCLBinderSpec.recordsSupported() })
+	void "should bind records including block labels"() {
+		given:
+		ClassLoader loader = compile([Service: '''
+import com.bertramlabs.plugins.hcl4j.binding.HCLLabel;
+import java.util.List;
+
+public record Service(String name, short priority, List<Service.Listener> listener) {
+	public record Listener(@HCLLabel String protocol, int port, float weight) {
+	}
+}
+'''])
+		Class<?> serviceType = loader.loadClass('Service')
+		def config = configuration('''
+name = "web"
+priority = 5
+
+listener "http" {
+  port = 80
+  weight = 0.5
+}
+
+listener "https" {
+  port = 443
+}
+''')
+		when:
+		def service = new HCLBinder().bind(config, serviceType)
+		then:
+		service.name() == "web"
+		service.priority() == (short) 5
+		service.listener()*.protocol() == ["http", "https"]
+		service.listener()*.port() == [80, 443]
+		service.listener()*.weight() == [0.5f, 0.0f]
+	}
+}
+
+enum Mode {
+	FAST, SLOW
+}
+
+class Network {
+	String cidr
+}
+
+class Settings {
+	String name
+	int instanceCount
+	long maxBytes
+	double ratio
+	boolean enabled
+	List<String> zones
+	int[] ports
+	Mode mode
+	Map<String, String> tags
+	Network network
+	int setterCalls
+
+	void setNetwork(Network network) {
+		this.network = network
+		setterCalls++
+	}
+}
+
+class Variable {
+	@HCLLabel
+	String name
+	PrimitiveType type
+	@HCLName("default")
+	Object defaultValue
+}
+
+class Resource {
+	@HCLLabel(0)
+	String type
+	@HCLLabel(1)
+	String name
+	String ami
+}
+
+class Stack {
+	List<Variable> variable
+	Map<String, Map<String, Resource>> resource
+}
+
+class Tuning {
+	float weight
+	short priority
+	byte flags
+	LinkedList<String> hosts
+	TreeSet<String> names
+	Deque<Integer> ports
+	SortedSet<String> labels
+}
+
+class Unsupported {
+	BlockingQueue<String> hosts
+}
@@ -0,0 +1,107 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j.module
+
+import com.bertramlabs.plugins.hcl4j.HCLParserException
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class HCLModuleLoaderSpec extends Specification {
+	Path workspace
+
+	def setup() {
+		workspace = Files.createTempDirectory("hcl4j-modules")
+	}
+
+	def cleanup() {
+		workspace.toFile().deleteDir()
+	}
+
+	Path module(String path, Map<String, String> files) {
+		Path directory = workspace.resolve(path)
+		Files.createDirectories(directory)
+		files.each { name, content -> directory.resolve(name).toFile().text = content }
+		return directory
+	}
+
+	void "should load each shared local module once across roots"() {
+		given:
+		module("modules/vpc", ["main.tf": 'variable "cidr" {\n}\n'])
+		module("modules/app", ["main.tf": '''
+module "network" {
+  source = "../vpc"
+}
+'''])
+		def prod = module("live/prod", [
+			"main.tf": '''
+module "app" {
+  source = "../../modules/app"
+}
+
+module "network" {
+  source = "./../../modules/vpc"
+}
+''',
+			"versions.tf": 'region = "us-east-1"\n',
+			"README.md": 'not hcl {'
+		])
+		def staging = module("live/staging", ["main.tf": '''
+module "app" {
+  source = "../../modules/app"
+}
+
+module "consul" {
+  source = "hashicorp/consul/aws"
+}
+'''])
+		when:
+		HCLModuleGraph graph = new HCLModuleLoader(4, java.nio.charset.StandardCharsets.UTF_8).load(prod.toFile(), staging.toFile())
+		then:
+		graph.size() == 4
+		graph.roots*.directory == [prod.toRealPath(), staging.toRealPath()]
+		graph.roots[0].files*.fileName*.toString() == ["main.tf", "versions.tf"]
+		graph.roots[0].configuration.attributes*.name == ["region"]
+		graph.roots[0].calls*.name == ["app", "network"]
+		graph.roots[0].calls[0].module.is(graph.roots[1].calls[0].module)
+		graph.roots[0].calls[1].module.is(graph.roots[0].calls[0].module.calls[0].module)
+		graph.getModule(workspace.resolve("modules/vpc")).configuration.blocks[0].blockNames == ["variable", "cidr"]
+		!graph.roots[1].calls[1].local
+		graph.roots[1].calls[1].module == null
+	}
+
+	void "should fail with the parse error of any module"() {
+		given:
+		module("modules/broken", ["main.tf": 'resource "a" "b" {\n  x = "unterminated\n}\n'])
+		def root = module("root", ["main.tf": 'module "broken" {\n  source = "../modules/broken"\n}\n'])
+		when:
+		new HCLModuleLoader().load(root.toFile())
+		then:
+		def ex = thrown(HCLParserException)
+		ex.message.contains("broken")
+	}
+
+	void "should report local module sources that do not exist"() {
+		given:
+		def root = module("root", ["main.tf": 'module "missing" {\n  source = "./nowhere"\n}\n'])
+		when:
+		new HCLModuleLoader().load(root.toFile())
+		then:
+		def ex = thrown(HCLParserException)
+		ex.message.contains("missing")
+	}
+}
@@ -0,0 +1,119 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j.validation
+
+import com.bertramlabs.plugins.hcl4j.HCLConfiguration
+import com.bertramlabs.plugins.hcl4j.HCLParser
+import spock.lang.Specification
+
+class HCLTypeValidatorSpec extends Specification {
+
+	static HCLConfiguration configuration(String hcl) {
+		return new HCLParser().parseConfiguration(new StringReader(hcl))
+	}
+
+	static HCLTypeValidator validator(String type) {
+		def config = configuration("variable \"v\" {\n  type = ${type}\n}\n")
+		return HCLTypeValidator.forType(config.blocks[0].children[0].children[0])
+	}
+
+	static value(String hcl) {
+		return configuration("value = ${hcl}\n").attributes[0].children[0]
+	}
+
+	void "should share compiled validators per type shape"() {
+		expect:
+		validator("list(map(number))").is(validator("list(map(number))"))
+		validator("list(map(number))").shape == "list(map(number))"
+		validator("map").shape == "map(any)"
+		!validator("list(string)").is(validator("set(string)"))
+	}
+
+	void "should convert values following terraform conversions"() {
+		expect:
+		validator(type).convert(value(hcl)) == expected
+		where:
+		type               | hcl                      | expected
+		"string"           | '"a"'                    | "a"
+		"string"           | '12'                     | "12"
+		"string"           | 'true'                   | "true"
+		"number"           | '"1.5"'                  | 1.5d
+		"bool"             | '"false"'                | false
+		"list(number)"     | '[1, "2"]'               | [1d, 2d]
+		"set(string)"      | '["a", "b", "a"]'        | ["a", "b"] as LinkedHashSet
+		"map(bool)"        | '{\n  a = true\n  b = false\n}' | [a: true, b: false]
+		"list(list(string))" | '[["a"], ["b", "c"]]'  | [["a"], ["b", "c"]]
+		"list"             | '[1, "a", [true]]'       | [1d, "a", [true]]
+		"number"           | 'null'                   | null
+	}
+
+	void "should report every violation with its path and source span"() {
+		given:
+		def config = configuration('''
+servers = [
+  {
+    name = "a"
+    ports = [80, "http"]
+  },
+  {
+    name = "b"
+    ports = 443
+  }
+]
+''')
+		when:
+		def violations = validator("list(map(list(number)))").validate(config.attributes[0].children[0], "servers")
+		then:
+		violations*.path == ["servers[0].name", "servers[0].ports[1]", "servers[1].name", "servers[1].ports"]
+		violations*.expectedType == ["list(number)", "number", "list(number)", "list(number)"]
+		violations[1].symbol.line == 4
+		violations[1].message == 'expected number, found string "http"'
+		violations[3].message == "expected list(number), found number 443"
+	}
+
+	void "should reject values with violations on conversion"() {
+		when:
+		validator("map(number)").convert(value('{\n  a = 1\n  b = "x"\n}'), "limits")
+		then:
+		def ex = thrown(HCLTypeException)
+		ex.violations*.path == ["limits.b"]
+	}
+
+	void "should validate tfvars against declared variables"() {
+		given:
+		def declarations = configuration('''
+variable "region" {
+  type = string
+}
+
+variable "zones" {
+  type = list(string)
+}
+
+variable "untyped" {
+}
+''')
+		def values = configuration('''
+region = "us-east-1"
+zones = ["a", ["b"]]
+untyped = [1]
+''')
+		when:
+		def violations = HCLTypeValidator.validateVariables(declarations, values)
+		then:
+		violations*.path == ["zones[1]"]
+	}
+}
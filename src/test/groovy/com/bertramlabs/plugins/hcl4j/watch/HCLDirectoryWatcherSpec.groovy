@@ -0,0 +1,200 @@
+/*
+* Copyright 2026 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.bertramlabs.plugins.hcl4j.watch
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+
+class HCLDirectoryWatcherSpec extends Specification {
+	Path directory
+	HCLDirectoryWatcher watcher
+
+	def setup() {
+		directory = Files.createTempDirectory("hcl4j-watch")
+	}
+
+	def cleanup() {
+		watcher?.close()
+		directory.toFile().deleteDir()
+	}
+
+	Path write(String name, String content) {
+		Path file = directory.resolve(name)
+		file.toFile().text = content
+		return file
+	}
+
+	void "should debounce changes and reparse only changed files"() {
+		given:
+		Path main = write("main.tf", 'resource "aws_instance" "web" {\n  ami = "ami-1"\n}\n')
+		Path vars = write("prod.tfvars", 'region = "us-east-1"\n')
+		write("README.md", '# not configuration\n')
+		long now = 1000
+		watcher = new HCLDirectoryWatcher(directory, 50, StandardCharsets.UTF_8, { now } as HCLDirectoryWatcher.Clock)
+		List<HCLSnapshot> published = []
+		watcher.addListener(new HCLSnapshotListener() {
+			void snapshotChanged(HCLSnapshot previous, HCLSnapshot current) {
+				published << current
+			}
+
+			void watchFailed(IOException cause) {
+			}
+		})
+
+		when:
+		HCLSnapshot initial = watcher.refresh()
+
+		then:
+		initial.version == 0
+		initial.files as List == [main, vars]
+		initial.configuration.blocks*.blockNames == [['resource', 'aws_instance', 'web']]
+		initial.configuration.attributes*.name == ['region']
+		published.empty
+
+		when:
+		write("main.tf", 'resource "aws_instance" "web" {\n  ami = "ami-2"\n}\n')
+		watcher.addPending([main], false)
+		now += 30
+		write("main.tf", 'resource "aws_instance" "web" {\n  ami = "ami-3"\n}\n')
+		watcher.addPending([main], false)
+		now += 30
+
+		then:
+		!watcher.applyPendingIfDue()
+		watcher.pendingDelayMillis() == 20
+		published.empty
+
+		when:
+		write("main.tf", 'resource "aws_instance" "web" {\n  ami = "ami-4"\n}\n')
+		now += 20
+		watcher.applyPendingIfDue()
+		HCLSnapshot current = published[0]
+
+		then:
+		published.size() == 1
+		current.version == 1
+		current.changedFiles as List == [main]
+		current.configuration.blocks[0].children[0].children[0].value == 'ami-4'
+		current.getConfiguration(vars).is(initial.getConfiguration(vars))
+		watcher.snapshot.is(current)
+		watcher.pendingDelayMillis() == -1
+		!watcher.applyPendingIfDue()
+		initial.configuration.blocks[0].children[0].children[0].value == 'ami-1'
+
+		when: "changes keep arriving faster than the debounce interval"
+		Files.delete(vars)
+		List<Boolean> applied = []
+		14.times {
+			now += 40
+			watcher.addPending([vars], false)
+			applied << watcher.applyPendingIfDue()
+		}
+		current = published.last()
+
+		then: "the batch is applied ten intervals after its first change"
+		applied == [false] * 13 + [true]
+		published.size() == 2
+		current.version == 2
+		current.changedFiles as List == [vars]
+		current.files as List == [main]
+		current.configuration.attributes.empty
+	}
+
+	@Timeout(10)
+	void "should call listeners without holding the watcher lock"() {
+		given:
+		Path main = write("main.tf", 'region = "us-east-1"\n')
+		watcher = new HCLDirectoryWatcher(directory)
+		watcher.refresh()
+		CountDownLatch entered = new CountDownLatch(1)
+		CountDownLatch release = new CountDownLatch(1)
+		List<Long> versions = Collections.synchronizedList([])
+		watcher.addListener(new HCLSnapshotListener() {
+			void snapshotChanged(HCLSnapshot previous, HCLSnapshot current) {
+				versions << current.version
+				if(current.version == 1) {
+					entered.countDown()
+					release.await()
+				}
+			}
+
+			void watchFailed(IOException cause) {
+			}
+		})
+		Thread slow = Thread.start {
+			watcher.update([main], true)
+		}
+		entered.await()
+
+		when:
+		HCLSnapshot refreshed = watcher.refresh()
+
+		then:
+		refreshed.version == 2
+		watcher.snapshot.is(refreshed)
+		versions == [1L]
+
+		when:
+		release.countDown()
+		slow.join()
+
+		then:
+		versions == [1L, 2L]
+	}
+
+	void "should keep the last good configuration of a file that fails to parse"() {
+		given:
+		Path empty = write("a.tf", '# nothing yet\n')
+		Path main = write("main.tf", 'region = "us-east-1"\n')
+		watcher = new HCLDirectoryWatcher(directory)
+		HCLSnapshot initial = watcher.refresh()
+
+		when:
+		write("main.tf", 'region = "us-east-1\n}}}\n')
+		Path added = write("zones.tf", 'zones = ["a", "b"]\nvariable "size" {\n}\n')
+		watcher.update([main, added], false)
+		HCLSnapshot broken = watcher.snapshot
+
+		then:
+		broken.version == 1
+		broken.errors.keySet() as List == [main]
+		broken.getConfiguration(main).is(initial.getConfiguration(main))
+		broken.getConfiguration(empty).is(initial.getConfiguration(empty))
+		broken.configuration.attributes*.name == ['region', 'zones']
+		broken.configuration.blocks*.name == ['variable']
+
+		when:
+		write("main.tf", 'region = "eu-west-1"\n')
+		HCLSnapshot fixed = watcher.refresh()
+
+		then:
+		fixed.errors.isEmpty()
+		fixed.changedFiles as List == [empty, main, added]
+		fixed.configuration.attributes[0].children[0].value == 'eu-west-1'
+
+		when:
+		watcher.update([main], false)
+		watcher.update([directory.resolve("missing.tf")], false)
+
+		then:
+		watcher.snapshot.version == 3
+	}
+}